@@ -19,28 +19,128 @@ import be.atbash.util.reflection.ReflectionUtils;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @PublicAPI
 public final class AnnotationUtil {
 
+    private static final int SEARCH_INTERFACES = 1;
+    private static final int SEARCH_META_ANNOTATIONS = 2;
+
+    /**
+     * The result of the annotation lookups for each class, one for each combination of the search options. Optional
+     * is used to cache also the absence of the annotation.
+     */
+    private static final List<ClassValue<ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>>>> ANNOTATION_CACHES = new ArrayList<>();
+
+    static {
+        for (int i = 0; i <= (SEARCH_INTERFACES | SEARCH_META_ANNOTATIONS); i++) {
+            ANNOTATION_CACHES.add(new ClassValue<ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>>>() {
+                @Override
+                protected ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            });
+        }
+    }
+
     private AnnotationUtil() {
     }
 
+    /**
+     * Returns the annotation on the class or the first super class having the annotation. The result is cached.
+     *
+     * @param someClass      the class to search.
+     * @param someAnnotation the annotation type.
+     * @param <A>            the annotation type.
+     * @return the annotation or null when the class or its super classes are not annotated.
+     */
     public static <A extends Annotation> A getAnnotation(Class<?> someClass, Class<A> someAnnotation) {
+        return findAnnotation(someClass, someAnnotation, false, false);
+    }
+
+    /**
+     * Returns the annotation on the class or the first super class having the annotation. Optionally also the
+     * implemented interfaces (after the super classes) and the meta-annotations (annotations on the annotations of
+     * the class) are searched. The result is cached.
+     *
+     * @param someClass              the class to search.
+     * @param someAnnotation         the annotation type.
+     * @param includeInterfaces      are the interfaces implemented by the class searched?
+     * @param includeMetaAnnotations are the annotations of the annotations searched?
+     * @param <A>                    the annotation type.
+     * @return the annotation or null when not found.
+     */
+    public static <A extends Annotation> A findAnnotation(Class<?> someClass, Class<A> someAnnotation, boolean includeInterfaces, boolean includeMetaAnnotations) {
+        int options = (includeInterfaces ? SEARCH_INTERFACES : 0) | (includeMetaAnnotations ? SEARCH_META_ANNOTATIONS : 0);
+        ConcurrentMap<Class<? extends Annotation>, Optional<Annotation>> cache = ANNOTATION_CACHES.get(options).get(someClass);
+        Optional<Annotation> result = cache.get(someAnnotation);
+        if (result == null) {
+            result = Optional.ofNullable(searchAnnotation(someClass, someAnnotation, includeInterfaces, includeMetaAnnotations));
+            cache.putIfAbsent(someAnnotation, result);
+        }
+        return someAnnotation.cast(result.orElse(null));
+    }
+
+    private static <A extends Annotation> A searchAnnotation(Class<?> someClass, Class<A> someAnnotation, boolean includeInterfaces, boolean includeMetaAnnotations) {
+        A result = null;
+        Class<?> current = someClass;
+        while (result == null && current != null) {
+            result = searchDeclared(current, someAnnotation, includeMetaAnnotations);
+            current = current.getSuperclass();
+        }
+        if (result == null && includeInterfaces) {
+            // Breadth first over the interfaces of the class and its super classes.
+            Deque<Class<?>> toSearch = new ArrayDeque<>();
+            Set<Class<?>> searched = new HashSet<>();
+            for (current = someClass; current != null; current = current.getSuperclass()) {
+                toSearch.addAll(Arrays.asList(current.getInterfaces()));
+            }
+            while (result == null && !toSearch.isEmpty()) {
+                Class<?> candidate = toSearch.removeFirst();
+                if (searched.add(candidate)) {
+                    result = searchDeclared(candidate, someAnnotation, includeMetaAnnotations);
+                    toSearch.addAll(Arrays.asList(candidate.getInterfaces()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static <A extends Annotation> A searchDeclared(Class<?> someClass, Class<A> someAnnotation, boolean includeMetaAnnotations) {
+        A result = someClass.getDeclaredAnnotation(someAnnotation);
+        if (result == null && includeMetaAnnotations) {
+            result = searchMetaAnnotation(someClass.getDeclaredAnnotations(), someAnnotation, new HashSet<>());
+        }
+        return result;
+    }
+
+    private static <A extends Annotation> A searchMetaAnnotation(Annotation[] annotations, Class<A> someAnnotation, Set<Class<?>> visited) {
         A result = null;
-        if (someClass.isAnnotationPresent(someAnnotation)) {
-            result = someClass.getAnnotation(someAnnotation);
-        } else {
-            if (someClass != Object.class) {
-                result = getAnnotation(someClass.getSuperclass(), someAnnotation);
+        for (int i = 0; result == null && i < annotations.length; i++) {
+            Class<? extends Annotation> annotationType = annotations[i].annotationType();
+            // Annotations like @Documented and @Target are annotated with themselves.
+            if (visited.add(annotationType)) {
+                result = annotationType.getDeclaredAnnotation(someAnnotation);
+                if (result == null) {
+                    result = searchMetaAnnotation(annotationType.getDeclaredAnnotations(), someAnnotation, visited);
+                }
             }
         }
         return result;
     }
 
+    /**
+     * Returns the public fields (also those of the super classes) annotated with the annotation.
+     *
+     * @param clazz          the class to search.
+     * @param annotationType the annotation on the fields.
+     * @return the annotated public fields.
+     */
     public static List<Field> findAnnotatedFields(Class<?> clazz, Class<? extends Annotation> annotationType) {
-        return ReflectionUtils.findFields(clazz, fld -> fld.isAnnotationPresent(annotationType));
+        return ReflectionUtils.findPublicFields(clazz, annotationType);
     }
 
 }
@@ -47,6 +47,68 @@ public final class CollectionUtils {
         return set;
     }
 
+    /**
+     * Returns the items in the vararg as an immutable {@link Set}, keeping their order. Duplicates are removed. The Set
+     * is backed by an array and is intended for small constant lookup tables.
+     *
+     * @param elements items to be placed in Set, null items are not allowed.
+     * @param <E>      The type of the items and the resulting {@link Set}
+     * @return The items as an unmodifiable Set.
+     */
+    @SafeVarargs
+    public static <E> Set<E> immutableSet(E... elements) {
+        if (elements == null || elements.length == 0) {
+            return Collections.emptySet();
+        }
+        if (elements.length == 1) {
+            return Collections.singleton(Objects.requireNonNull(elements[0], "Immutable set can't contain null"));
+        }
+        // Copied by element, so that the varargs array itself is never handed out.
+        Object[] items = new Object[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            items[i] = elements[i];
+        }
+        return CompactSet.of(items);
+    }
+
+    /**
+     * Returns the items in the vararg as an immutable {@link List}, backed by a copy of the items.
+     *
+     * @param elements items to be placed in List, null items are not allowed.
+     * @param <E>      The type of the items and the resulting {@link List}
+     * @return The items as an unmodifiable List.
+     */
+    @SafeVarargs
+    public static <E> List<E> immutableList(E... elements) {
+        if (elements == null || elements.length == 0) {
+            return Collections.emptyList();
+        }
+        if (elements.length == 1) {
+            return Collections.singletonList(Objects.requireNonNull(elements[0], "Immutable list can't contain null"));
+        }
+        List<E> items = new ArrayList<>(elements.length);
+        for (E element : elements) {
+            items.add(Objects.requireNonNull(element, "Immutable list can't contain null"));
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Returns an immutable copy of the {@link Map}, keeping the iteration order of the original. The Map is backed by
+     * arrays and is intended for small constant lookup tables.
+     *
+     * @param map the entries, null keys and values are not allowed.
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @return The entries as an unmodifiable Map.
+     */
+    public static <K, V> Map<K, V> immutableMap(Map<? extends K, ? extends V> map) {
+        if (map == null || map.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return CompactMap.copyOf(map);
+    }
+
     /**
      * Returns {@code true} if the specified {@code Collection} is {@code null} or {@link Collection#isEmpty empty},
      * {@code false} otherwise.
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import java.util.*;
+
+/**
+ * Immutable Map backed by an array of keys and an array of values, created by
+ * {@link CollectionUtils#immutableMap(Map)}. The keys are found like the elements of a {@link CompactSet}. The
+ * iteration order is the iteration order of the original Map.
+ */
+final class CompactMap<K, V> extends AbstractMap<K, V> {
+
+    private final Object[] keys;
+    private final Object[] values;
+    private final int[] index;
+
+    private CompactMap(Object[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+        this.index = CompactSet.createIndex(keys);
+    }
+
+    /**
+     * Creates the Map as a copy of the entries.
+     *
+     * @param map the entries, null keys and values are not allowed.
+     * @return the Map.
+     */
+    static <K, V> CompactMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        Object[] keys = new Object[map.size()];
+        Object[] values = new Object[keys.length];
+        int i = 0;
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            keys[i] = Objects.requireNonNull(entry.getKey(), "Immutable map can't contain a null key");
+            values[i] = Objects.requireNonNull(entry.getValue(), "Immutable map can't contain a null value");
+            i++;
+        }
+        return new CompactMap<>(keys, values);
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && CompactSet.indexOf(keys, index, key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int position = CompactSet.indexOf(keys, index, key);
+        return position < 0 ? null : (V) values[position];
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new CompactSet.ArrayIterator<>(keys);
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Iterator<Entry<K, V>>() {
+                    private int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < keys.length;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    public Entry<K, V> next() {
+                        if (position >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<K, V> result = new SimpleImmutableEntry<>((K) keys[position], (V) values[position]);
+                        position++;
+                        return result;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import java.util.*;
+
+/**
+ * Immutable Set backed by an array, created by {@link CollectionUtils#immutableSet(Object[])}. Small sets are searched
+ * linearly, larger ones have an open addressing index on the array. The iteration order is the order of creation.
+ */
+final class CompactSet<E> extends AbstractSet<E> {
+
+    // Up to this size, a linear search is faster than calculating the hash code.
+    static final int LINEAR_SCAN_LIMIT = 8;
+
+    private final Object[] elements;
+    private final int[] index;
+
+    private CompactSet(Object[] elements) {
+        this.elements = elements;
+        this.index = createIndex(elements);
+    }
+
+    /**
+     * Creates the Set from the elements, duplicates are removed.
+     *
+     * @param elements the elements, null is not allowed.
+     * @return the Set.
+     */
+    static <E> CompactSet<E> of(Object[] elements) {
+        Object[] unique = new Object[elements.length];
+        int size = 0;
+        Set<Object> seen = elements.length > LINEAR_SCAN_LIMIT ? new HashSet<>(elements.length * 4 / 3 + 1) : null;
+        for (Object element : elements) {
+            Objects.requireNonNull(element, "Immutable set can't contain null");
+            boolean added = seen == null ? indexOfLinear(unique, size, element) < 0 : seen.add(element);
+            if (added) {
+                unique[size++] = element;
+            }
+        }
+        return new CompactSet<>(size == unique.length ? unique : Arrays.copyOf(unique, size));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && indexOf(elements, index, o) >= 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ArrayIterator<>(elements);
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.clone();
+    }
+
+    /**
+     * Creates the index for the keys, null when the keys are searched linearly.
+     *
+     * @param keys the unique non null keys.
+     * @return position + 1 of each key at the slot of its hash code, with linear probing.
+     */
+    static int[] createIndex(Object[] keys) {
+        if (keys.length <= LINEAR_SCAN_LIMIT) {
+            return null;
+        }
+        // At most half full, so that the probing stays short.
+        int[] result = new int[Integer.highestOneBit(keys.length - 1) << 2];
+        int mask = result.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = hash(keys[i]) & mask;
+            while (result[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            result[slot] = i + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the position of the key.
+     *
+     * @param keys  the keys.
+     * @param index the index created by {@link #createIndex(Object[])}.
+     * @param key   the key to search, not null.
+     * @return the position or -1 when not found.
+     */
+    static int indexOf(Object[] keys, int[] index, Object key) {
+        if (index == null) {
+            return indexOfLinear(keys, keys.length, key);
+        }
+        int mask = index.length - 1;
+        int slot = hash(key) & mask;
+        int position;
+        while ((position = index[slot]) != 0) {
+            if (key.equals(keys[position - 1])) {
+                return position - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int indexOfLinear(Object[] keys, int size, Object key) {
+        for (int i = 0; i < size; i++) {
+            if (key.equals(keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Iterator over an array which doesn't support remove.
+     */
+    static final class ArrayIterator<E> implements Iterator<E> {
+
+        private final Object[] items;
+        private int position;
+
+        ArrayIterator(Object[] items) {
+            this.items = items;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < items.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            if (position >= items.length) {
+                throw new NoSuchElementException();
+            }
+            return (E) items[position++];
+        }
+    }
+}
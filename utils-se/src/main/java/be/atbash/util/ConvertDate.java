@@ -17,126 +17,76 @@ package be.atbash.util;
 
 import be.atbash.util.exception.ConvertException;
 
-import java.text.DateFormatSymbols;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
- * Parses a (incomplete) dat time string to a Date value.
+ * Parses a (incomplete) dat time string to a Date value or a {@code java.time} value.
+ * <p/>
+ * The names of the months and days are taken from the locales defined in the System property
+ * {@code atbash.utils.locales} (comma separated list of language tags, en-US by default). The names are only
+ * determined when they are needed for the first time. Methods are thread safe.
  */
 public final class ConvertDate {
 
-    private static final TreeMap<String, Integer> monthsTable = new TreeMap<>(new StringCmpNS()); // StringCmpNS.COMP
-    private static final TreeMap<String, Integer> daysTable = new TreeMap<>(new StringCmpNS()); // StringCmpNS.COMP
-    private static final HashSet<String> voidData = new HashSet<>();
+    /**
+     * System property to activate the learning of the formats (see {@link #setFormatLearning(boolean)}) from the start.
+     */
+    public static final String LEARNING_PROPERTY = "atbash.utils.date.learning";
+
+    private static final int PARALLEL_CHUNK_SIZE = 4096;
 
     private ConvertDate() {
     }
 
-    private static class StringCmpNS implements Comparator<String> {
-        @Override
-        public int compare(String o1, String o2) {
-            return o1.compareToIgnoreCase(o2);
-        }
+    /**
+     * Activates or deactivates the learning of the formats. When active, the steps to parse a text are kept for the
+     * shape of the text (the pattern of digits, letters and separators). The next text with the same shape is parsed
+     * by these steps directly, which is faster when a large number of values with the same format are converted.
+     * Results are identical to the parsing without learning. Deactivating removes all the learned formats.
+     *
+     * @param learning true to activate the learning.
+     */
+    public static void setFormatLearning(boolean learning) {
+        DateParser.setLearning(learning);
     }
 
-    private static Integer parseMonth(String s1) {
-        if (Character.isDigit(s1.charAt(0))) {
-            return Integer.parseInt(s1) - 1;
-        } else {
-            Integer month = monthsTable.get(s1);
-            if (month == null) {
-                throw new ConvertException("can not parse " + s1 + " as month");
-            }
-            return month;
-        }
+    /**
+     * @return true when learning of the formats is active.
+     */
+    public static boolean isFormatLearning() {
+        return DateParser.isLearning();
     }
 
-    private static final TreeMap<String, TimeZone> timeZoneMapping;
-
-    static {
-        timeZoneMapping = new TreeMap<>();
-        voidData.add("MEZ");
-        voidData.add("Uhr");
-        voidData.add("h");
-        voidData.add("pm");
-        voidData.add("PM");
-        voidData.add("AM");
-        voidData.add("o'clock");
-
-        for (String tz : TimeZone.getAvailableIDs()) {
-            timeZoneMapping.put(tz, TimeZone.getTimeZone(tz));
-        }
-
-        String localesProperty = System.getProperty("atbash.utils.locales", "en-US");
-        List<Locale> locales = Arrays.stream(localesProperty.split(","))
-                .map(String::trim)
-                .map(Locale::forLanguageTag)
-                .collect(Collectors.toList());
-
-        for (Locale locale : locales) {
-            if ("ja".equals(locale.getLanguage())) {
-                continue;
-            }
-            if ("ko".equals(locale.getLanguage())) {
-                continue;
-            }
-            if ("zh".equals(locale.getLanguage())) {
-                continue;
-            }
-            DateFormatSymbols dfs = DateFormatSymbols.getInstance(locale);
-            String[] keys = dfs.getMonths();
-            for (int i = 0; i < keys.length; i++) {
-                if (keys[i].length() == 0) {
-                    continue;
-                }
-                fillMap(monthsTable, keys[i], i);
-            }
-            keys = dfs.getShortMonths();
-            for (int i = 0; i < keys.length; i++) {
-                String s = keys[i];
-                if (s.length() == 0) {
-                    continue;
-                }
-                if (Character.isDigit(s.charAt(s.length() - 1))) {
-                    continue;
-                }
-                fillMap(monthsTable, keys[i], i);
-                fillMap(monthsTable, keys[i].replace(".", ""), i);
-            }
-            keys = dfs.getWeekdays();
-            for (int i = 0; i < keys.length; i++) {
-                String s = keys[i];
-                if (s.length() == 0) {
-                    continue;
-                }
-                fillMap(daysTable, s, i);
-                fillMap(daysTable, s.replace(".", ""), i);
-            }
-            keys = dfs.getShortWeekdays();
-            for (int i = 0; i < keys.length; i++) {
-                String s = keys[i];
-                if (s.length() == 0) {
-                    continue;
-                }
-                fillMap(daysTable, s, i);
-                fillMap(daysTable, s.replace(".", ""), i);
-            }
-
-        }
+    /**
+     * Returns the number of texts parsed by a learned format (hit), for which no format was learned yet (miss) and for
+     * which the learned format didn't match (fallback).
+     *
+     * @return the statistics since the start or the last reset.
+     */
+    public static LearningStatistics getLearningStatistics() {
+        long[] counters = DateParser.getLearningCounters();
+        return new LearningStatistics(counters[0], counters[1], counters[2]);
     }
 
-    private static void fillMap(TreeMap<String, Integer> map, String key, Integer value) {
-        map.put(key, value);
-        key = key.replace("é", "e");
-        key = key.replace("û", "u");
-        map.put(key, value);
+    /**
+     * Resets the counters of the {@link #getLearningStatistics() statistics}.
+     */
+    public static void resetLearningStatistics() {
+        DateParser.resetLearningCounters();
     }
 
     /**
      * try read a Date from an Object.
      */
-    @SuppressWarnings("squid:S5361")
     public static Date convertToDate(Object obj) {
         if (obj == null) {
             return null;
@@ -147,225 +97,218 @@ public final class ConvertDate {
         if (obj instanceof Number) {
             return new Date(((Number) obj).longValue());
         }
-        if (obj instanceof String) {
-            // there is a.m. and AM as markers. This code expect AM so we convert
-            // Can't use replace() due to the . (dot) in
-            String input = ((String) obj).replaceAll("a\\.m\\.", "AM").replaceAll("p\\.m\\.", "PM");
-            StringTokenizer st = new StringTokenizer(input, " -/:,.+");
-            String s1;
-            if (!st.hasMoreTokens()) {
-                return null;
-            }
-            s1 = st.nextToken();
-            if (s1.length() == 4 && Character.isDigit(s1.charAt(0))) {
-                return getYYYYMMDD(st, s1);
-            }
-            // skip Day if present.
-            if (daysTable.containsKey(s1)) {
-                if (!st.hasMoreTokens()) {
-                    return null;
-                }
-                s1 = st.nextToken();
-            }
-            if (monthsTable.containsKey(s1)) {
-                return getMMDDYYYY(st, s1);
-            }
-
-            if (Character.isDigit(s1.charAt(0))) {
-                return getDDMMYYYY(st, s1);
-            }
-            return null;
+        if (obj instanceof CharSequence) {
+            ZonedDateTime dateTime = DateParser.parse((CharSequence) obj);
+            return dateTime == null ? null : Date.from(dateTime.toInstant());
         }
         throw new ConvertException("Primitive: Can not convert " + obj.getClass().getName() + " to int");
     }
 
-    private static Date getYYYYMMDD(StringTokenizer st, String s1) {
-        GregorianCalendar cal = new GregorianCalendar(2000, Calendar.JANUARY, 0, 0, 0, 0);
-        cal.setTimeInMillis(0);
-
-        int year = Integer.parseInt(s1);
-        cal.set(Calendar.YEAR, year);
-        if (!st.hasMoreTokens()) {
-            return cal.getTime();
+    /**
+     * Read an Instant from an Object. Besides a (partial) date time text, a Date, an Instant and a Number (milliseconds
+     * since the epoch) are supported.
+     *
+     * @param obj the value to convert.
+     * @return the Instant or null when the value is null or the text doesn't contain enough information.
+     */
+    public static Instant convertToInstant(Object obj) {
+        if (obj == null) {
+            return null;
         }
-        s1 = st.nextToken();
-
-        cal.set(Calendar.MONTH, parseMonth(s1));
-        if (!st.hasMoreTokens()) {
-            return cal.getTime();
+        if (obj instanceof Instant) {
+            return (Instant) obj;
         }
-
-        s1 = st.nextToken();
-        if (Character.isDigit(s1.charAt(0))) {
-            if (s1.length() == 5 && s1.charAt(2) == 'T') {
-                // TIME + TIMEZONE
-                int day = Integer.parseInt(s1.substring(0, 2));
-                cal.set(Calendar.DAY_OF_MONTH, day);
-                return addHour(st, cal, s1.substring(3));
-            }
-            int day = Integer.parseInt(s1);
-            cal.set(Calendar.DAY_OF_MONTH, day);
-            return addHour(st, cal, null);
+        if (obj instanceof CharSequence) {
+            ZonedDateTime dateTime = DateParser.parse((CharSequence) obj);
+            return dateTime == null ? null : dateTime.toInstant();
         }
-        return cal.getTime();
+        Date date = convertToDate(obj);
+        return date == null ? null : date.toInstant();
     }
 
-    private static int getYear(String s1) {
-        int year = Integer.parseInt(s1);
-        // CET ?
-        if (year < 100) {
-            if (year > 23) {
-                year += 2000;
-            } else {
-                year += 1900;
-            }
+    /**
+     * Read the date and time of a (partial) date time text, as they are in the text (so a time zone within the
+     * text isn't applied).
+     *
+     * @param text the text to convert.
+     * @return the LocalDateTime or null when the value is null or the text doesn't contain enough information.
+     */
+    public static LocalDateTime convertToLocalDateTime(CharSequence text) {
+        if (text == null) {
+            return null;
         }
-        return year;
+        ZonedDateTime dateTime = DateParser.parse(text);
+        return dateTime == null ? null : dateTime.toLocalDateTime();
     }
 
-    private static Date getMMDDYYYY(StringTokenizer st, String s1) {
-        GregorianCalendar cal = new GregorianCalendar(2000, Calendar.JANUARY, 0, 0, 0, 0);
-        Integer month = monthsTable.get(s1);
-        if (month == null) {
-            throw new ConvertException("can not parse " + s1 + " as month");
-        }
-        cal.set(Calendar.MONTH, month);
-        if (!st.hasMoreTokens()) {
+    /**
+     * Read the date and time of a (partial) date time text with the offset of the time zone in the text, or of the
+     * default time zone when the text has no time zone.
+     *
+     * @param text the text to convert.
+     * @return the OffsetDateTime or null when the value is null or the text doesn't contain enough information.
+     */
+    public static OffsetDateTime convertToOffsetDateTime(CharSequence text) {
+        if (text == null) {
             return null;
         }
-        s1 = st.nextToken();
-        // DAY
-        int day = Integer.parseInt(s1);
-        cal.set(Calendar.DAY_OF_MONTH, day);
+        ZonedDateTime dateTime = DateParser.parse(text);
+        return dateTime == null ? null : dateTime.toOffsetDateTime();
+    }
 
-        if (!st.hasMoreTokens()) {
-            return null;
-        }
-        s1 = st.nextToken();
-        if (Character.isLetter(s1.charAt(0))) {
-            if (!st.hasMoreTokens()) {
-                return null;
-            }
-            s1 = st.nextToken();
-        }
-        if (s1.length() == 4) {
-            cal.set(Calendar.YEAR, getYear(s1));
-        } else if (s1.length() == 2) {
-            return addHour2(st, cal, s1);
+    /**
+     * Converts a batch of (partial) date time texts to the milliseconds since the epoch, without creating a Date or
+     * Calendar for each value. The formats of the values are learned for the batch, also when the
+     * {@link #setFormatLearning(boolean) learning} isn't active. A null value, a text which doesn't contain enough
+     * information or a malformed text (for which {@link #convertToDate(Object)} throws an exception) results in
+     * {@code Long.MIN_VALUE}, the other values of the batch are still converted.
+     *
+     * @param values the texts to convert.
+     * @param result the array receiving the milliseconds, at the same index as the value.
+     * @return the number of values which are converted.
+     */
+    public static int convertToEpochMillis(CharSequence[] values, long[] result) {
+        return convertToEpochMillis(values, result, Long.MIN_VALUE);
+    }
 
-        }
-        return addHour(st, cal, null);
+    /**
+     * Converts a batch of (partial) date time texts to the milliseconds since the epoch, see
+     * {@link #convertToEpochMillis(CharSequence[], long[])}.
+     *
+     * @param values       the texts to convert.
+     * @param result       the array receiving the milliseconds, at the same index as the value.
+     * @param missingValue the value for a null value, a text which doesn't contain enough information or a malformed text.
+     * @return the number of values which are converted.
+     */
+    public static int convertToEpochMillis(CharSequence[] values, long[] result, long missingValue) {
+        checkBatch(values, result);
+        return convertRange(values, result, missingValue, DateParser.batchPlans(), 0, values.length);
     }
 
-    private static Date getDDMMYYYY(StringTokenizer st, String s1) {
-        GregorianCalendar cal = new GregorianCalendar(2000, Calendar.JANUARY, 0, 0, 0, 0);
-        int day = Integer.parseInt(s1);
-        cal.set(Calendar.DAY_OF_MONTH, day);
-        if (!st.hasMoreTokens()) {
-            return null;
-        }
-        s1 = st.nextToken();
-        cal.set(Calendar.MONTH, parseMonth(s1));
+    /**
+     * Converts a batch of (partial) date time texts to the milliseconds since the epoch, like
+     * {@link #convertToEpochMillis(CharSequence[], long[], long)}, but the values are divided over the threads of the
+     * common ForkJoinPool. Only useful for large batches.
+     *
+     * @param values       the texts to convert.
+     * @param result       the array receiving the milliseconds, at the same index as the value.
+     * @param missingValue the value for a null value, a text which doesn't contain enough information or a malformed text.
+     * @return the number of values which are converted.
+     */
+    public static int convertToEpochMillisParallel(CharSequence[] values, long[] result, long missingValue) {
+        checkBatch(values, result);
+        AtomicReferenceArray<DateParser.Plan> plans = DateParser.batchPlans();
+        int chunks = (values.length + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .map(chunk -> {
+                    int start = chunk * PARALLEL_CHUNK_SIZE;
+                    return convertRange(values, result, missingValue, plans, start, Math.min(values.length, start + PARALLEL_CHUNK_SIZE));
+                })
+                .sum();
+    }
 
-        if (!st.hasMoreTokens()) {
-            return null;
-        }
-        s1 = st.nextToken();
-        cal.set(Calendar.YEAR, getYear(s1));
-        return addHour(st, cal, null);
+    /**
+     * Converts the (partial) date time texts of the Stream to the milliseconds since the epoch. The formats of the
+     * values are learned for the Stream, also when the {@link #setFormatLearning(boolean) learning} isn't active.
+     *
+     * @param values       the texts to convert.
+     * @param missingValue the value for a null value, a text which doesn't contain enough information or a malformed text.
+     * @return the milliseconds for each value.
+     */
+    public static LongStream convertToEpochMillis(Stream<? extends CharSequence> values, long missingValue) {
+        AtomicReferenceArray<DateParser.Plan> plans = DateParser.batchPlans();
+        // A parser can only be used by one thread at a time, and the returned stream can still be made parallel.
+        ThreadLocal<DateParser> parsers = ThreadLocal.withInitial(DateParser::new);
+        return values.mapToLong(value -> toEpochMillis(parsers.get(), value, plans, missingValue));
     }
 
-    private static Date addHour(StringTokenizer st, Calendar cal, String s1) {
-        if (s1 == null) {
-            if (!st.hasMoreTokens()) {
-                return cal.getTime();
-            }
-            s1 = st.nextToken();
+    private static void checkBatch(CharSequence[] values, long[] result) {
+        if (values.length > result.length) {
+            throw new IllegalArgumentException(String.format("The result array (length %s) is shorter than the values (length %s)", result.length, values.length));
+        }
+    }
 
-            if (Character.isLetter(s1.charAt(0))) {
-                // There are full format that have something like 'at' between day and hour.
-                // We ignore that (but it might be wrong word)
-                s1 = st.nextToken();
+    private static int convertRange(CharSequence[] values, long[] result, long missingValue, AtomicReferenceArray<DateParser.Plan> plans, int start, int end) {
+        DateParser parser = new DateParser();
+        int converted = 0;
+        for (int i = start; i < end; i++) {
+            long millis = missingValue;
+            CharSequence value = values[i];
+            if (value != null) {
+                try {
+                    if (parser.parseText(value, plans)) {
+                        millis = parser.toEpochMillis();
+                        converted++;
+                    }
+                } catch (ConvertException | NumberFormatException | DateTimeException e) {
+                    // A malformed value doesn't stop the batch, it results in the missing value.
+                }
             }
+            result[i] = millis;
         }
-        return addHour2(st, cal, s1);
+        return converted;
     }
 
-    private static Date addHour2(StringTokenizer st, Calendar cal, String s1) {
-        cal.set(Calendar.HOUR_OF_DAY, Integer.parseInt(s1));
-
-        if (!st.hasMoreTokens()) {
-            return cal.getTime();
+    private static long toEpochMillis(DateParser parser, CharSequence value, AtomicReferenceArray<DateParser.Plan> plans, long missingValue) {
+        if (value == null) {
+            return missingValue;
         }
-        s1 = st.nextToken();
-
-        s1 = trySkip(st, s1, cal);
-        if (s1 == null) {
-            return cal.getTime();
+        try {
+            return parser.parseText(value, plans) ? parser.toEpochMillis() : missingValue;
+        } catch (ConvertException | NumberFormatException | DateTimeException e) {
+            // A malformed value doesn't stop the Stream, it results in the missing value.
+            return missingValue;
         }
+    }
 
-        cal.set(Calendar.MINUTE, Integer.parseInt(s1));
+    /**
+     * Usage of the learned formats.
+     */
+    public static final class LearningStatistics {
 
-        if (!st.hasMoreTokens()) {
-            return cal.getTime();
-        }
-        s1 = st.nextToken();
+        private final long hits;
+        private final long misses;
+        private final long fallbacks;
 
-        s1 = trySkip(st, s1, cal);
-        if (s1 == null) {
-            return cal.getTime();
+        LearningStatistics(long hits, long misses, long fallbacks) {
+            this.hits = hits;
+            this.misses = misses;
+            this.fallbacks = fallbacks;
         }
 
-        cal.set(Calendar.SECOND, Integer.parseInt(s1));
-        if (!st.hasMoreTokens()) {
-            return cal.getTime();
+        /**
+         * @return number of texts parsed by a learned format.
+         */
+        public long getHits() {
+            return hits;
         }
-        s1 = st.nextToken();
 
-        s1 = trySkip(st, s1, cal);
-        if (s1 == null) {
-            return cal.getTime();
+        /**
+         * @return number of texts for which no format was learned yet.
+         */
+        public long getMisses() {
+            return misses;
         }
-        // TODO ADD TIME ZONE
-        s1 = trySkip(st, s1, cal);
 
-        if (s1 != null && s1.length() == 4 && Character.isDigit(s1.charAt(0))) {
-            cal.set(Calendar.YEAR, getYear(s1));
+        /**
+         * @return number of texts where the learned format for the shape didn't match.
+         */
+        public long getFallbacks() {
+            return fallbacks;
         }
 
-        return cal.getTime();
-    }
+        /**
+         * @return the fraction of the texts parsed by a learned format, 0 when no texts are parsed.
+         */
+        public double getHitRate() {
+            long total = hits + misses + fallbacks;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
 
-    /*
-     * Handle some Date Keyword like PST UTC am pm ...
-     *
-     */
-    private static String trySkip(StringTokenizer st, String s1, Calendar cal) {
-        while (true) {
-            TimeZone tz = timeZoneMapping.get(s1);
-            if (tz != null) {
-                cal.setTimeZone(tz);
-                if (!st.hasMoreTokens()) {
-                    return null;
-                }
-                s1 = st.nextToken();
-                continue;
-            }
-            if (voidData.contains(s1)) {
-                if (s1.equalsIgnoreCase("pm")) {
-                    cal.add(Calendar.AM_PM, Calendar.PM);
-                }
-                if (s1.equalsIgnoreCase("am")) {
-                    cal.add(Calendar.AM_PM, Calendar.AM);
-                }
-                if (!st.hasMoreTokens()) {
-                    return null;
-                }
-                s1 = st.nextToken();
-                continue;
-            }
-            return s1;
+        @Override
+        public String toString() {
+            return String.format("LearningStatistics{hits=%s, misses=%s, fallbacks=%s}", hits, misses, fallbacks);
         }
     }
-
 }
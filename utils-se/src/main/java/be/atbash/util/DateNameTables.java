@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormatSymbols;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * The names of months and days for the locales defined in the System property {@code atbash.utils.locales}. They are
+ * taken from the resource {@value #RESOURCE} when it is created for the same locales (see
+ * {@link DateNamesGenerator#main(String[])}), otherwise from {@link DateFormatSymbols}.
+ */
+final class DateNameTables {
+
+    static final String RESOURCE = "META-INF/atbash/date-names.properties";
+    static final String LOCALES_PROPERTY = "atbash.utils.locales";
+
+    private static final String KEY_LOCALES = "locales";
+    private static final String KEY_PREFIX_MONTH = "month.";
+    private static final String KEY_PREFIX_DAY = "day.";
+
+    private final Map<String, Integer> months;
+    private final Map<String, Integer> days;
+
+    private DateNameTables(Map<String, Integer> months, Map<String, Integer> days) {
+        this.months = months;
+        this.days = days;
+    }
+
+    Map<String, Integer> getMonths() {
+        return months;
+    }
+
+    Map<String, Integer> getDays() {
+        return days;
+    }
+
+    static DateNameTables load() {
+        List<String> locales = getLocales();
+        DateNameTables result = fromResource(locales);
+        if (result == null) {
+            result = fromLocales(locales);
+        }
+        return result;
+    }
+
+    static List<String> getLocales() {
+        String localesProperty = System.getProperty(LOCALES_PROPERTY, "en-US");
+        return Arrays.stream(localesProperty.split(","))
+                .map(String::trim)
+                .collect(Collectors.toList());
+    }
+
+    private static DateNameTables fromResource(List<String> locales) {
+        try (InputStream stream = openResource()) {
+            if (stream == null) {
+                return null;
+            }
+            return read(new InputStreamReader(stream, StandardCharsets.UTF_8), locales);
+        } catch (IOException | IllegalArgumentException e) {
+            // Not usable, use DateFormatSymbols
+            return null;
+        }
+    }
+
+    private static InputStream openResource() {
+        // Not through ClassUtils, to keep the classes loaded at startup to a minimum.
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        InputStream result = classLoader == null ? null : classLoader.getResourceAsStream(RESOURCE);
+        if (result == null && DateNameTables.class.getClassLoader() != null) {
+            result = DateNameTables.class.getClassLoader().getResourceAsStream(RESOURCE);
+        }
+        return result;
+    }
+
+    /**
+     * Reads the tables written by {@link #write(Writer)}, returns null when they are written for other locales.
+     */
+    static DateNameTables read(Reader reader, List<String> locales) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        if (!String.join(",", locales).equals(properties.getProperty(KEY_LOCALES))) {
+            // Created for other locales.
+            return null;
+        }
+        Map<String, Integer> months = new HashMap<>();
+        Map<String, Integer> days = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(KEY_PREFIX_MONTH)) {
+                months.put(key.substring(KEY_PREFIX_MONTH.length()), Integer.valueOf(properties.getProperty(key)));
+            }
+            if (key.startsWith(KEY_PREFIX_DAY)) {
+                days.put(key.substring(KEY_PREFIX_DAY.length()), Integer.valueOf(properties.getProperty(key)));
+            }
+        }
+        return new DateNameTables(months, days);
+    }
+
+    private static DateNameTables fromLocales(List<String> locales) {
+        // Later values overwrite earlier ones, so keep the insertion order.
+        Map<String, Integer> months = new LinkedHashMap<>();
+        Map<String, Integer> days = new LinkedHashMap<>();
+        for (String languageTag : locales) {
+            Locale locale = Locale.forLanguageTag(languageTag);
+            if ("ja".equals(locale.getLanguage()) || "ko".equals(locale.getLanguage()) || "zh".equals(locale.getLanguage())) {
+                continue;
+            }
+            DateFormatSymbols dfs = DateFormatSymbols.getInstance(locale);
+            String[] keys = dfs.getMonths();
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].length() == 0) {
+                    continue;
+                }
+                fillMap(months, keys[i], i);
+            }
+            keys = dfs.getShortMonths();
+            for (int i = 0; i < keys.length; i++) {
+                String s = keys[i];
+                if (s.length() == 0 || Character.isDigit(s.charAt(s.length() - 1))) {
+                    continue;
+                }
+                fillMap(months, s, i);
+                fillMap(months, s.replace(".", ""), i);
+            }
+            keys = dfs.getWeekdays();
+            for (int i = 0; i < keys.length; i++) {
+                String s = keys[i];
+                if (s.length() == 0) {
+                    continue;
+                }
+                fillMap(days, s, i);
+                fillMap(days, s.replace(".", ""), i);
+            }
+            keys = dfs.getShortWeekdays();
+            for (int i = 0; i < keys.length; i++) {
+                String s = keys[i];
+                if (s.length() == 0) {
+                    continue;
+                }
+                fillMap(days, s, i);
+                fillMap(days, s.replace(".", ""), i);
+            }
+        }
+        return new DateNameTables(months, days);
+    }
+
+    private static void fillMap(Map<String, Integer> map, String key, Integer value) {
+        map.put(key, value);
+        map.put(key.replace("é", "e").replace("û", "u"), value);
+    }
+
+    /**
+     * Writes the tables for the configured locales in the format of the resource.
+     */
+    static void write(Writer writer) throws IOException {
+        List<String> locales = getLocales();
+        DateNameTables tables = fromLocales(locales);
+        Properties properties = new Properties();
+        properties.setProperty(KEY_LOCALES, String.join(",", locales));
+        // Names are matched case insensitive, so only the case folded version is needed.
+        tables.months.forEach((name, value) -> properties.setProperty(KEY_PREFIX_MONTH + fold(name), value.toString()));
+        tables.days.forEach((name, value) -> properties.setProperty(KEY_PREFIX_DAY + fold(name), value.toString()));
+        properties.store(writer, "Month and day names for ConvertDate");
+    }
+
+    static String fold(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    static char fold(char c) {
+        // Same as String.compareToIgnoreCase
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
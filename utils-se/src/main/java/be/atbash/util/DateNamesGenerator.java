@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes the names of months and days for the locales defined in the System property {@code atbash.utils.locales}
+ * to the file specified as argument. When the file is packaged as {@code META-INF/atbash/date-names.properties}
+ * and the System property has the same value at runtime, the names are read from the file which is faster than
+ * determining them from the JVM locale data. Intended to be called during the build, it is not part of the API.
+ */
+final class DateNamesGenerator {
+
+    private DateNamesGenerator() {
+    }
+
+    /**
+     * Writes the names to the file given as the only argument.
+     *
+     * @param args the file to write.
+     * @throws IOException when the file can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Expected the name of the file to write as argument");
+        }
+        Path file = Paths.get(args[0]);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            DateNameTables.write(writer);
+        }
+    }
+}
@@ -0,0 +1,812 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import be.atbash.util.exception.ConvertException;
+
+import java.time.*;
+import java.time.zone.ZoneRules;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parses the (incomplete) date time texts supported by {@link ConvertDate}. The text is scanned once, tokens are only
+ * referenced by their position and month, day, zone and keyword names are looked up in hash tables without creating
+ * Strings. The parsed fields are resolved leniently (a day 0 is the last day of the previous month) like a lenient
+ * {@code Calendar} does. Like the {@code GregorianCalendar}, dates before the Gregorian cutover (15 October 1582) are
+ * Julian calendar dates.
+ * <p/>
+ * The tables with names are only created when they are needed for the first time, time zones are resolved when they
+ * are found in a text.
+ * <p/>
+ * When learning is active, the steps of a successful parse are kept as a plan for the shape of the text (digits,
+ * letters and the other characters). A text with the same shape is parsed by the plan, only verifying the tokens where
+ * the content (and not the shape) determined the outcome, like a month or day name.
+ * <p/>
+ * An instance holds the state of a single parse and is not thread safe, the tables are shared and immutable.
+ */
+final class DateParser {
+
+    // Same delimiters as the StringTokenizer which was used originally.
+    private static final String DELIMITERS = " -/:,.+";
+
+    private static final NameTable<Boolean> KEYWORDS;
+
+    // Roles of a token within a learned plan.
+    private static final int ROLE_YEAR = 1;
+    private static final int ROLE_SHORT_YEAR = 2;
+    private static final int ROLE_MONTH_NUMBER = 3;
+    private static final int ROLE_MONTH_NAME = 4;
+    private static final int ROLE_MONTH_NAME_NOT_DAY = 5;
+    private static final int ROLE_DAY_NAME = 6;
+    private static final int ROLE_DAY = 7;
+    private static final int ROLE_DAY_TIME = 8;
+    private static final int ROLE_HOUR = 9;
+    private static final int ROLE_MINUTE = 10;
+    private static final int ROLE_SECOND = 11;
+    private static final int ROLE_ZONE = 12;
+    private static final int ROLE_KEYWORD = 13;
+    private static final int ROLE_NOT_KEYWORD = 14;
+
+    private static final int MAX_PLAN_STEPS = 16;
+    private static final int PLAN_TABLE_SIZE = 256;
+
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final long GREGORIAN_CUTOVER_EPOCH_DAY = LocalDate.of(1582, 10, 15).toEpochDay();
+
+    // Learned plans by shape of the text, null when learning is not active.
+    private static volatile AtomicReferenceArray<Plan> plans =
+            Boolean.getBoolean(ConvertDate.LEARNING_PROPERTY) ? new AtomicReferenceArray<>(PLAN_TABLE_SIZE) : null;
+
+    private static final LongAdder PLAN_HITS = new LongAdder();
+    private static final LongAdder PLAN_MISSES = new LongAdder();
+    private static final LongAdder PLAN_FALLBACKS = new LongAdder();
+
+    // Resolved on demand, only the ids which are found in texts.
+    private static final ConcurrentMap<String, ZoneId> ZONES = new ConcurrentHashMap<>();
+
+    static {
+        Map<String, Boolean> keywords = new HashMap<>();
+        for (String keyword : new String[]{"MEZ", "Uhr", "h", "pm", "PM", "AM", "o'clock"}) {
+            keywords.put(keyword, Boolean.TRUE);
+        }
+        KEYWORDS = new NameTable<>(keywords, false);
+    }
+
+    /**
+     * Month and day names, only created when the first name needs to be looked up.
+     */
+    private static final class NameTables {
+        private static final NameTable<Integer> MONTHS;
+        private static final NameTable<Integer> DAYS;
+
+        static {
+            DateNameTables tables = DateNameTables.load();
+            MONTHS = new NameTable<>(tables.getMonths(), true);
+            DAYS = new NameTable<>(tables.getDays(), true);
+        }
+    }
+
+    /**
+     * The time zone ids which can match a token, only created when the first time zone needs to be looked up.
+     */
+    private static final class ZoneIds {
+        private static final NameTable<String> IDS;
+
+        static {
+            Map<String, String> ids = new HashMap<>();
+            for (String id : TimeZone.getAvailableIDs()) {
+                if (isToken(id)) {
+                    // Ids containing a delimiter can never match a token.
+                    ids.put(id, id);
+                }
+            }
+            IDS = new NameTable<>(ids, false);
+        }
+    }
+
+    private CharSequence text;
+    private int length;
+    private int position;
+    private int tokenStart;
+    private int tokenEnd;
+
+    private ZoneId zone;
+    private int year;
+    private int month;  // 0 based like Calendar
+    private int day;
+    private int hour;
+    private int minute;
+    private int second;
+    private int addedHours;
+
+    // When recording, each step of the parse is kept as role, token start and token end.
+    private int[] steps;
+    private int stepCount;
+    private boolean epochBased;
+
+    // State kept for all the texts parsed by this instance.
+    private int[] stepBuffer;
+    private ZoneId defaultZone;
+    private LocalDateTime defaultEpoch;
+
+    /**
+     * Parser which can be used for multiple texts (one after the other, not concurrently). The default time zone is
+     * determined once for the instance.
+     */
+    DateParser() {
+    }
+
+    private void reset(String value) {
+        text = value;
+        length = value.length();
+        position = 0;
+        tokenStart = 0;
+        tokenEnd = 0;
+        zone = null;
+        year = 0;
+        month = 0;
+        day = 0;
+        hour = 0;
+        minute = 0;
+        second = 0;
+        addedHours = 0;
+        steps = null;
+        stepCount = 0;
+        epochBased = false;
+    }
+
+    private static boolean isToken(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (DELIMITERS.indexOf(value.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return !value.isEmpty();
+    }
+
+    /**
+     * Parses the text.
+     *
+     * @param text the text to parse.
+     * @return the date time or null when the text doesn't contain enough information.
+     */
+    static ZonedDateTime parse(CharSequence text) {
+        DateParser parser = new DateParser();
+        return parser.parseText(text, plans) ? parser.toZonedDateTime() : null;
+    }
+
+    /**
+     * The plans to use for a batch of texts, the learned plans when learning is active, otherwise plans which
+     * are only kept for the batch.
+     */
+    static AtomicReferenceArray<Plan> batchPlans() {
+        AtomicReferenceArray<Plan> table = plans;
+        return table == null ? new AtomicReferenceArray<>(PLAN_TABLE_SIZE) : table;
+    }
+
+    /**
+     * Parses the text with this instance, the result is available through {@link #toEpochMillis()}.
+     *
+     * @param text  the text to parse.
+     * @param table the plans to use and fill, null when formats aren't learned.
+     * @return false when the text doesn't contain enough information.
+     */
+    boolean parseText(CharSequence text, AtomicReferenceArray<Plan> table) {
+        String value = text.toString();
+        if (value.indexOf(".m.") >= 0) {
+            // there is a.m. and AM as markers. The parser expects AM so we convert
+            value = value.replace("a.m.", "AM").replace("p.m.", "PM");
+        }
+        if (table == null) {
+            reset(value);
+            return parse();
+        }
+        // Only the learned plans are part of the statistics, not those of a batch.
+        boolean counting = table == plans;
+        int slot = shapeHash(value) & (PLAN_TABLE_SIZE - 1);
+        Plan plan = table.get(slot);
+        if (plan != null && plan.matches(value)) {
+            reset(value);
+            if (replay(plan)) {
+                if (counting) {
+                    PLAN_HITS.increment();
+                }
+                return true;
+            }
+            // Text has the same shape but other content (like a day name instead of a month name)
+            if (counting) {
+                PLAN_FALLBACKS.increment();
+            }
+        } else if (counting) {
+            PLAN_MISSES.increment();
+        }
+        reset(value);
+        if (stepBuffer == null) {
+            stepBuffer = new int[MAX_PLAN_STEPS * 3];
+        }
+        steps = stepBuffer;
+        if (!parse()) {
+            return false;
+        }
+        if (stepCount <= MAX_PLAN_STEPS) {
+            table.set(slot, new Plan(shapeOf(value), Arrays.copyOf(steps, stepCount * 3), epochBased));
+        }
+        return true;
+    }
+
+    static void setLearning(boolean learning) {
+        plans = learning ? new AtomicReferenceArray<>(PLAN_TABLE_SIZE) : null;
+    }
+
+    static boolean isLearning() {
+        return plans != null;
+    }
+
+    static long[] getLearningCounters() {
+        return new long[]{PLAN_HITS.sum(), PLAN_MISSES.sum(), PLAN_FALLBACKS.sum()};
+    }
+
+    static void resetLearningCounters() {
+        PLAN_HITS.reset();
+        PLAN_MISSES.reset();
+        PLAN_FALLBACKS.reset();
+    }
+
+    /*
+     * Class of each character for the shape of the text, digits and letters have their own class, all other
+     * characters are kept. Texts with the same shape have their tokens at the same positions.
+     */
+    private static char shapeClass(char c) {
+        if (Character.isDigit(c)) {
+            return '9';
+        }
+        return Character.isLetter(c) ? 'a' : c;
+    }
+
+    private static int shapeHash(String value) {
+        int result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            result = 31 * result + shapeClass(value.charAt(i));
+        }
+        return result ^ (result >>> 16);
+    }
+
+    private static char[] shapeOf(String value) {
+        char[] result = new char[value.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = shapeClass(value.charAt(i));
+        }
+        return result;
+    }
+
+    private void record(int role) {
+        if (steps != null) {
+            if (stepCount < MAX_PLAN_STEPS) {
+                int idx = stepCount * 3;
+                steps[idx] = role;
+                steps[idx + 1] = tokenStart;
+                steps[idx + 2] = tokenEnd;
+            }
+            stepCount++;
+        }
+    }
+
+    /*
+     * Executes the plan learned from a text with the same shape. All decisions which depend on the content of a token
+     * (and not only on the shape) are verified, returns false when they differ so that the text is parsed by the
+     * generic parser.
+     */
+    private boolean replay(Plan plan) {
+        if (plan.epochBased) {
+            initEpochBased();
+        } else {
+            initDefaults();
+        }
+        int[] planSteps = plan.steps;
+        for (int i = 0; i < planSteps.length; i += 3) {
+            tokenStart = planSteps[i + 1];
+            tokenEnd = planSteps[i + 2];
+            switch (planSteps[i]) {
+                case ROLE_YEAR:
+                    year = parseInt(tokenStart, tokenEnd);
+                    break;
+                case ROLE_SHORT_YEAR:
+                    year = getYear();
+                    break;
+                case ROLE_MONTH_NUMBER:
+                    month = parseInt(tokenStart, tokenEnd) - 1;
+                    break;
+                case ROLE_MONTH_NAME:
+                case ROLE_MONTH_NAME_NOT_DAY:
+                    if (planSteps[i] == ROLE_MONTH_NAME_NOT_DAY && NameTables.DAYS.get(text, tokenStart, tokenEnd) != null) {
+                        return false;
+                    }
+                    Integer monthValue = NameTables.MONTHS.get(text, tokenStart, tokenEnd);
+                    if (monthValue == null) {
+                        return false;
+                    }
+                    month = monthValue;
+                    break;
+                case ROLE_DAY_NAME:
+                    if (NameTables.DAYS.get(text, tokenStart, tokenEnd) == null) {
+                        return false;
+                    }
+                    break;
+                case ROLE_DAY:
+                    day = parseInt(tokenStart, tokenEnd);
+                    break;
+                case ROLE_DAY_TIME:
+                    if (text.charAt(tokenStart + 2) != 'T') {
+                        return false;
+                    }
+                    day = parseInt(tokenStart, tokenStart + 2);
+                    break;
+                case ROLE_HOUR:
+                    hour = parseInt(tokenStart, tokenEnd);
+                    break;
+                case ROLE_MINUTE:
+                    minute = parseInt(tokenStart, tokenEnd);
+                    break;
+                case ROLE_SECOND:
+                    second = parseInt(tokenStart, tokenEnd);
+                    break;
+                case ROLE_ZONE:
+                    ZoneId zoneId = findZone();
+                    if (zoneId == null) {
+                        return false;
+                    }
+                    zone = zoneId;
+                    break;
+                case ROLE_KEYWORD:
+                    if (findZone() != null || KEYWORDS.get(text, tokenStart, tokenEnd) == null) {
+                        return false;
+                    }
+                    applyKeyword();
+                    break;
+                case ROLE_NOT_KEYWORD:
+                    if (findZone() != null || KEYWORDS.get(text, tokenStart, tokenEnd) != null) {
+                        return false;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown role " + planSteps[i]);
+            }
+        }
+        return true;
+    }
+
+    private boolean parse() {
+        if (!hasMoreTokens()) {
+            return false;
+        }
+        nextToken();
+        if (tokenEnd - tokenStart == 4 && Character.isDigit(text.charAt(tokenStart))) {
+            return parseYearMonthDay();
+        }
+        // skip Day if present.
+        boolean dayName = NameTables.DAYS.get(text, tokenStart, tokenEnd) != null;
+        if (dayName) {
+            record(ROLE_DAY_NAME);
+            if (!hasMoreTokens()) {
+                return false;
+            }
+            nextToken();
+        }
+        Integer monthValue = NameTables.MONTHS.get(text, tokenStart, tokenEnd);
+        if (monthValue != null) {
+            record(dayName ? ROLE_MONTH_NAME : ROLE_MONTH_NAME_NOT_DAY);
+            return parseMonthDayYear(monthValue);
+        }
+        if (Character.isDigit(text.charAt(tokenStart))) {
+            return parseDayMonthYear();
+        }
+        return false;
+    }
+
+    private boolean parseYearMonthDay() {
+        initEpochBased();
+
+        year = parseInt(tokenStart, tokenEnd);
+        record(ROLE_YEAR);
+        if (!hasMoreTokens()) {
+            return true;
+        }
+        nextToken();
+        month = parseMonth();
+        if (!hasMoreTokens()) {
+            return true;
+        }
+        nextToken();
+        if (Character.isDigit(text.charAt(tokenStart))) {
+            if (tokenEnd - tokenStart == 5 && text.charAt(tokenStart + 2) == 'T') {
+                // TIME + TIMEZONE
+                day = parseInt(tokenStart, tokenStart + 2);
+                record(ROLE_DAY_TIME);
+                tokenStart += 3;
+                return parseTime();
+            }
+            day = parseInt(tokenStart, tokenEnd);
+            record(ROLE_DAY);
+            return parseHour();
+        }
+        return true;
+    }
+
+    private void initEpochBased() {
+        // Fields not in the text have the values of the epoch in the default time zone.
+        epochBased = true;
+        zone = getDefaultZone();
+        if (defaultEpoch == null) {
+            defaultEpoch = LocalDateTime.ofInstant(Instant.EPOCH, zone);
+        }
+        LocalDateTime epoch = defaultEpoch;
+        month = epoch.getMonthValue() - 1;
+        day = epoch.getDayOfMonth();
+        hour = epoch.getHour();
+        minute = epoch.getMinute();
+        second = epoch.getSecond();
+    }
+
+    private boolean parseMonthDayYear(int monthValue) {
+        initDefaults();
+        month = monthValue;
+        if (!hasMoreTokens()) {
+            return false;
+        }
+        nextToken();
+        day = parseInt(tokenStart, tokenEnd);
+        record(ROLE_DAY);
+        if (!hasMoreTokens()) {
+            return false;
+        }
+        nextToken();
+        if (Character.isLetter(text.charAt(tokenStart))) {
+            if (!hasMoreTokens()) {
+                return false;
+            }
+            nextToken();
+        }
+        int tokenLength = tokenEnd - tokenStart;
+        if (tokenLength == 4) {
+            year = getYear();
+            record(ROLE_SHORT_YEAR);
+        } else if (tokenLength == 2) {
+            return parseTime();
+        }
+        return parseHour();
+    }
+
+    private boolean parseDayMonthYear() {
+        initDefaults();
+        day = parseInt(tokenStart, tokenEnd);
+        record(ROLE_DAY);
+        if (!hasMoreTokens()) {
+            return false;
+        }
+        nextToken();
+        month = parseMonth();
+        if (!hasMoreTokens()) {
+            return false;
+        }
+        nextToken();
+        year = getYear();
+        record(ROLE_SHORT_YEAR);
+        return parseHour();
+    }
+
+    private void initDefaults() {
+        // Day 0 of January 2000, so 31 December 1999 when no day is found.
+        zone = getDefaultZone();
+        year = 2000;
+    }
+
+    private ZoneId getDefaultZone() {
+        if (defaultZone == null) {
+            defaultZone = TimeZone.getDefault().toZoneId();
+        }
+        return defaultZone;
+    }
+
+    private boolean parseHour() {
+        if (!hasMoreTokens()) {
+            return true;
+        }
+        nextToken();
+        if (Character.isLetter(text.charAt(tokenStart))) {
+            // There are full format that have something like 'at' between day and hour.
+            // We ignore that (but it might be wrong word)
+            nextToken();
+        }
+        return parseTime();
+    }
+
+    private boolean parseTime() {
+        hour = parseInt(tokenStart, tokenEnd);
+        record(ROLE_HOUR);
+        if (!hasMoreTokens()) {
+            return true;
+        }
+        nextToken();
+        if (!skipKeywords()) {
+            return true;
+        }
+        minute = parseInt(tokenStart, tokenEnd);
+        record(ROLE_MINUTE);
+        if (!hasMoreTokens()) {
+            return true;
+        }
+        nextToken();
+        if (!skipKeywords()) {
+            return true;
+        }
+        second = parseInt(tokenStart, tokenEnd);
+        record(ROLE_SECOND);
+        if (!hasMoreTokens()) {
+            return true;
+        }
+        nextToken();
+        if (!skipKeywords()) {
+            return true;
+        }
+        if (tokenEnd - tokenStart == 4 && Character.isDigit(text.charAt(tokenStart))) {
+            year = getYear();
+            record(ROLE_SHORT_YEAR);
+        } else {
+            record(ROLE_NOT_KEYWORD);
+        }
+        return true;
+    }
+
+    /*
+     * Handle some Date Keyword like PST UTC am pm ...
+     * Returns false when there are no more tokens.
+     */
+    private boolean skipKeywords() {
+        while (true) {
+            ZoneId zoneId = findZone();
+            if (zoneId != null) {
+                zone = zoneId;
+                record(ROLE_ZONE);
+            } else if (KEYWORDS.get(text, tokenStart, tokenEnd) != null) {
+                applyKeyword();
+                record(ROLE_KEYWORD);
+            } else {
+                return true;
+            }
+            if (!hasMoreTokens()) {
+                return false;
+            }
+            nextToken();
+        }
+    }
+
+    private void applyKeyword() {
+        if (tokenEnd - tokenStart == 2 && Character.toLowerCase(text.charAt(tokenStart)) == 'p') {
+            addedHours += 12;
+        }
+    }
+
+    private ZoneId findZone() {
+        String id = ZoneIds.IDS.get(text, tokenStart, tokenEnd);
+        if (id == null) {
+            return null;
+        }
+        return ZONES.computeIfAbsent(id, key -> TimeZone.getTimeZone(key).toZoneId());
+    }
+
+    private int parseMonth() {
+        if (Character.isDigit(text.charAt(tokenStart))) {
+            int result = parseInt(tokenStart, tokenEnd) - 1;
+            record(ROLE_MONTH_NUMBER);
+            return result;
+        }
+        Integer result = NameTables.MONTHS.get(text, tokenStart, tokenEnd);
+        if (result == null) {
+            throw new ConvertException("can not parse " + currentToken() + " as month");
+        }
+        record(ROLE_MONTH_NAME);
+        return result;
+    }
+
+    private int getYear() {
+        int result = parseInt(tokenStart, tokenEnd);
+        // CET ?
+        if (result < 100) {
+            if (result > 23) {
+                result += 2000;
+            } else {
+                result += 1900;
+            }
+        }
+        return result;
+    }
+
+    private int parseInt(int start, int end) {
+        if (end - start > 9) {
+            // Let Integer handle the overflow.
+            return Integer.parseInt(text.subSequence(start, end).toString());
+        }
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                // Same exception (or other digits) as Integer.parseInt
+                return Integer.parseInt(text.subSequence(start, end).toString());
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private String currentToken() {
+        return text.subSequence(tokenStart, tokenEnd).toString();
+    }
+
+    private boolean hasMoreTokens() {
+        while (position < length && DELIMITERS.indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+        return position < length;
+    }
+
+    private void nextToken() {
+        if (!hasMoreTokens()) {
+            throw new NoSuchElementException();
+        }
+        tokenStart = position;
+        while (position < length && DELIMITERS.indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        tokenEnd = position;
+    }
+
+    /*
+     * Lenient resolution of the fields, like a lenient Calendar, to the local date time in seconds.
+     */
+    private long localEpochSeconds() {
+        long epochDay = LocalDate.of(year, 1, 1).plusMonths(month).toEpochDay() + day - 1L;
+        if (epochDay < GREGORIAN_CUTOVER_EPOCH_DAY) {
+            epochDay = julianEpochDay();
+        }
+        return epochDay * SECONDS_PER_DAY + ((long) hour + addedHours) * 3600L + minute * 60L + second;
+    }
+
+    private long julianEpochDay() {
+        // Rarely needed, so the GregorianCalendar (which switches to the Julian calendar) does the work.
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone(ZoneOffset.UTC));
+        calendar.clear();
+        calendar.set(year, month, day);
+        return Math.floorDiv(calendar.getTimeInMillis(), SECONDS_PER_DAY * 1000L);
+    }
+
+    private ZonedDateTime toZonedDateTime() {
+        return ZonedDateTime.ofLocal(LocalDateTime.ofEpochSecond(localEpochSeconds(), 0, ZoneOffset.UTC), zone, null);
+    }
+
+    long toEpochMillis() {
+        long localSeconds = localEpochSeconds();
+        ZoneRules rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            return (localSeconds - rules.getOffset(Instant.EPOCH).getTotalSeconds()) * 1000L;
+        }
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(localSeconds, 0, ZoneOffset.UTC);
+        List<ZoneOffset> offsets = rules.getValidOffsets(dateTime);
+        if (offsets.size() == 1) {
+            return (localSeconds - offsets.get(0).getTotalSeconds()) * 1000L;
+        }
+        // In a gap or overlap of the time zone.
+        return ZonedDateTime.ofLocal(dateTime, zone, null).toInstant().toEpochMilli();
+    }
+
+    /**
+     * The steps to parse a text with a certain shape, learned from the generic parse of such a text.
+     */
+    static final class Plan {
+
+        private final char[] shape;
+        private final int[] steps;
+        private final boolean epochBased;
+
+        Plan(char[] shape, int[] steps, boolean epochBased) {
+            this.shape = shape;
+            this.steps = steps;
+            this.epochBased = epochBased;
+        }
+
+        boolean matches(String value) {
+            if (value.length() != shape.length) {
+                return false;
+            }
+            for (int i = 0; i < shape.length; i++) {
+                if (shapeClass(value.charAt(i)) != shape[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Immutable open addressing hash table with String keys which can be searched with a region of a CharSequence.
+     */
+    private static final class NameTable<V> {
+
+        private final String[] keys;
+        private final Object[] values;
+        private final int mask;
+        private final boolean ignoreCase;
+
+        NameTable(Map<String, V> entries, boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+            int capacity = Integer.highestOneBit(Math.max(entries.size(), 1) * 4 - 1) << 1;
+            keys = new String[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+            for (Map.Entry<String, V> entry : entries.entrySet()) {
+                String key = entry.getKey();
+                int idx = hash(key, 0, key.length()) & mask;
+                while (keys[idx] != null && !matches(keys[idx], key, 0, key.length())) {
+                    idx = (idx + 1) & mask;
+                }
+                keys[idx] = key;
+                values[idx] = entry.getValue();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(CharSequence text, int start, int end) {
+            int idx = hash(text, start, end) & mask;
+            String key;
+            while ((key = keys[idx]) != null) {
+                if (matches(key, text, start, end)) {
+                    return (V) values[idx];
+                }
+                idx = (idx + 1) & mask;
+            }
+            return null;
+        }
+
+        private int hash(CharSequence text, int start, int end) {
+            int result = 0;
+            for (int i = start; i < end; i++) {
+                result = 31 * result + fold(text.charAt(i));
+            }
+            return result ^ (result >>> 16);
+        }
+
+        private boolean matches(String key, CharSequence text, int start, int end) {
+            if (key.length() != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length(); i++) {
+                char c1 = key.charAt(i);
+                char c2 = text.charAt(start + i);
+                if (c1 != c2 && (!ignoreCase || fold(c1) != fold(c2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private char fold(char c) {
+            return ignoreCase ? DateNameTables.fold(c) : c;
+        }
+    }
+}
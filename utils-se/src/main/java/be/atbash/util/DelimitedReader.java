@@ -0,0 +1,255 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.util.Arrays;
+
+/**
+ * Streaming reader of delimited records (like CSV files). A record ends at a line terminator ('\n', '\r' or "\r\n")
+ * which is not within quoted text, so quoted fields can span multiple lines. Each record is split by a
+ * {@link LineTokenizer}, records containing only whitespace are skipped.
+ * <p/>
+ * Buffers are reused between records, use {@link #current()} to access the tokens without creating Strings.
+ * An instance is not thread safe.
+ */
+@PublicAPI
+public final class DelimitedReader implements Closeable {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Reader reader;
+    private final LineTokenizer tokenizer;
+
+    private final char[] chunk = new char[CHUNK_SIZE];
+    private int chunkPos;
+    private int chunkLimit;
+    private boolean skipLineFeed;
+    private boolean endOfInput;
+
+    private char[] record = new char[256];
+    private int recordLength;
+    private long recordNumber;
+
+    /**
+     * Reader using the {@link LineTokenizer#LineTokenizer() default} tokenizer.
+     *
+     * @param reader the source of the records.
+     */
+    public DelimitedReader(Reader reader) {
+        this(reader, new LineTokenizer());
+    }
+
+    /**
+     * @param reader    the source of the records.
+     * @param tokenizer the tokenizer used to split each record.
+     */
+    public DelimitedReader(Reader reader, LineTokenizer tokenizer) {
+        if (reader == null || tokenizer == null) {
+            throw new IllegalArgumentException("Parameters reader and tokenizer can't be null");
+        }
+        this.reader = reader;
+        this.tokenizer = tokenizer;
+    }
+
+    /**
+     * Reads the records from the remaining bytes of the buffer. The position of the buffer itself isn't changed.
+     *
+     * @param buffer    the buffer containing the encoded records.
+     * @param charset   the charset of the content.
+     * @param tokenizer the tokenizer used to split each record.
+     * @return the reader for the buffer.
+     */
+    public static DelimitedReader of(ByteBuffer buffer, Charset charset, LineTokenizer tokenizer) {
+        return new DelimitedReader(new ByteBufferReader(buffer.duplicate(), charset.newDecoder()), tokenizer);
+    }
+
+    /**
+     * Reads the records from the remaining bytes of the buffer with the default tokenizer.
+     *
+     * @param buffer  the buffer containing the encoded records.
+     * @param charset the charset of the content.
+     * @return the reader for the buffer.
+     */
+    public static DelimitedReader of(ByteBuffer buffer, Charset charset) {
+        return of(buffer, charset, new LineTokenizer());
+    }
+
+    /**
+     * Advances to the next record which contains some text.
+     *
+     * @return false when the end of the input is reached.
+     * @throws IOException when reading from the underlying reader fails.
+     */
+    public boolean next() throws IOException {
+        while (readRecord()) {
+            recordNumber++;
+            if (tokenizer.tokenize(record, 0, recordLength) > 0) {
+                return true;
+            }
+        }
+        tokenizer.tokenize(null);
+        return false;
+    }
+
+    /**
+     * Reads the next record and returns its tokens.
+     *
+     * @return the tokens of the next record or null when the end of the input is reached.
+     * @throws IOException when reading from the underlying reader fails.
+     */
+    public String[] readNext() throws IOException {
+        return next() ? tokenizer.getTokens() : null;
+    }
+
+    /**
+     * The tokenizer holding the tokens of the current record. The offsets of the tokens are relative to {@link #getRecord()}.
+     *
+     * @return the tokenizer containing the current record.
+     */
+    public LineTokenizer current() {
+        return tokenizer;
+    }
+
+    /**
+     * The raw text of the current record, without line terminator.
+     *
+     * @return the text of the current record.
+     */
+    public String getRecord() {
+        return new String(record, 0, recordLength);
+    }
+
+    /**
+     * The number of the current record, 1 based and including the records skipped because they are blank.
+     *
+     * @return the number of the current record.
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    private boolean readRecord() throws IOException {
+        recordLength = 0;
+        boolean inQuotes = false;
+        boolean found = false;
+        while (true) {
+            if (chunkPos == chunkLimit) {
+                if (endOfInput || !fillChunk()) {
+                    return found;
+                }
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (chunk[chunkPos] == '\n') {
+                    chunkPos++;
+                    continue;
+                }
+            }
+            found = true;
+            char[] chars = chunk;
+            int start = chunkPos;
+            int limit = chunkLimit;
+            for (int i = start; i < limit; i++) {
+                char c = chars[i];
+                if (c == tokenizer.getBeginQuoteChar() || c == tokenizer.getEndQuoteChar()) {
+                    // Escaped quotes toggle twice, so they don't change the state.
+                    inQuotes = !inQuotes;
+                } else if ((c == '\n' || c == '\r') && !inQuotes) {
+                    append(chars, start, i - start);
+                    chunkPos = i + 1;
+                    skipLineFeed = c == '\r';
+                    return true;
+                }
+            }
+            append(chars, start, limit - start);
+            chunkPos = limit;
+        }
+    }
+
+    private boolean fillChunk() throws IOException {
+        int count;
+        do {
+            count = reader.read(chunk, 0, chunk.length);
+        } while (count == 0);
+        if (count < 0) {
+            endOfInput = true;
+            chunkPos = 0;
+            chunkLimit = 0;
+            return false;
+        }
+        chunkPos = 0;
+        chunkLimit = count;
+        return true;
+    }
+
+    private void append(char[] chars, int start, int length) {
+        if (recordLength + length > record.length) {
+            record = Arrays.copyOf(record, Math.max(record.length * 2, recordLength + length));
+        }
+        System.arraycopy(chars, start, record, recordLength, length);
+        recordLength += length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class ByteBufferReader extends Reader {
+
+        private final ByteBuffer buffer;
+        private final CharsetDecoder decoder;
+        private boolean flushed;
+
+        ByteBufferReader(ByteBuffer buffer, CharsetDecoder decoder) {
+            this.buffer = buffer;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (flushed) {
+                return -1;
+            }
+            CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+            CoderResult result = decoder.decode(buffer, out, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (!buffer.hasRemaining()) {
+                result = decoder.flush(out);
+                if (result.isUnderflow()) {
+                    flushed = true;
+                }
+            }
+            int count = out.position() - off;
+            return count == 0 && flushed ? -1 : count;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import java.util.Arrays;
+
+/**
+ * Reusable tokenizer for delimited lines, following the same rules as {@link StringUtils#split(String, char, char, char, boolean, boolean)}.
+ * The internal buffers are kept between lines so that parsing a large number of lines doesn't allocate per token.
+ * Tokens can be retrieved as String, appended to a StringBuilder or only referenced by their offsets within the input.
+ * <p/>
+ * An instance is not thread safe, use one instance per thread.
+ */
+@PublicAPI
+public final class LineTokenizer {
+
+    private static final int INITIAL_TOKEN_CAPACITY = 16;
+
+    private final char delimiter;
+    private final char beginQuoteChar;
+    private final char endQuoteChar;
+    private final boolean retainQuotes;
+    private final boolean trimTokens;
+
+    private char[] input = new char[0];
+    private char[] buffer = new char[0];
+
+    // Per token 4 values: start and end within the input, start and end within the (unquoted) buffer.
+    private int[] offsets = new int[INITIAL_TOKEN_CAPACITY * 4];
+    private int tokenCount;
+
+    /**
+     * Tokenizer with the ',' as delimiter, '"' as quote character, quotes are not retained and tokens are trimmed.
+     */
+    public LineTokenizer() {
+        this(StringUtils.DEFAULT_DELIMITER_CHAR);
+    }
+
+    /**
+     * Tokenizer with the '"' as quote character, quotes are not retained and tokens are trimmed.
+     *
+     * @param delimiter the delimiter by which the line is to be split
+     */
+    public LineTokenizer(char delimiter) {
+        this(delimiter, StringUtils.DEFAULT_QUOTE_CHAR, StringUtils.DEFAULT_QUOTE_CHAR, false, true);
+    }
+
+    /**
+     * @param delimiter      the delimiter by which the line is to be split
+     * @param beginQuoteChar the character signifying the start of quoted text (so the quoted text will not be split)
+     * @param endQuoteChar   the character signifying the end of quoted text
+     * @param retainQuotes   if the quotes themselves should be retained when constructing the corresponding token
+     * @param trimTokens     if leading and trailing whitespace should be trimmed from discovered tokens.
+     */
+    public LineTokenizer(char delimiter, char beginQuoteChar, char endQuoteChar, boolean retainQuotes, boolean trimTokens) {
+        this.delimiter = delimiter;
+        this.beginQuoteChar = beginQuoteChar;
+        this.endQuoteChar = endQuoteChar;
+        this.retainQuotes = retainQuotes;
+        this.trimTokens = trimTokens;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public char getBeginQuoteChar() {
+        return beginQuoteChar;
+    }
+
+    public char getEndQuoteChar() {
+        return endQuoteChar;
+    }
+
+    /**
+     * Splits the line into tokens. The tokens of the previous line are no longer available after this call.
+     *
+     * @param line the line to split, can be null.
+     * @return the number of tokens, 0 when the line is null or contains only whitespace.
+     */
+    public int tokenize(CharSequence line) {
+        if (line == null) {
+            tokenCount = 0;
+            return 0;
+        }
+        int length = line.length();
+        if (input.length < length) {
+            input = new char[length];
+        }
+        if (line instanceof String) {
+            ((String) line).getChars(0, length, input, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                input[i] = line.charAt(i);
+            }
+        }
+        return parse(input, 0, length);
+    }
+
+    /**
+     * Splits the characters between {@code offset} and {@code offset + length} into tokens. The tokens of the previous
+     * line are no longer available after this call. The offsets of the tokens are relative to the start of the array.
+     *
+     * @param chars  the characters containing the line.
+     * @param offset the start of the line within the array.
+     * @param length the number of characters of the line.
+     * @return the number of tokens, 0 when the line contains only whitespace.
+     */
+    public int tokenize(char[] chars, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > chars.length) {
+            throw new IndexOutOfBoundsException(String.format("offset %s and length %s not within array of length %s", offset, length, chars.length));
+        }
+        return parse(chars, offset, offset + length);
+    }
+
+    private int parse(char[] chars, int from, int to) {
+        tokenCount = 0;
+        // Same as StringUtils.clean(), the line as a whole is always trimmed.
+        while (from < to && chars[from] <= ' ') {
+            from++;
+        }
+        while (to > from && chars[to - 1] <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return 0;
+        }
+        if (buffer.length < to - from) {
+            buffer = new char[to - from];
+        }
+        char[] buf = buffer;
+
+        int pos = 0;
+        int tokenStart = 0;
+        int fieldStart = from;
+        boolean inQuotes = false;
+
+        for (int i = from; i < to; i++) {
+            char c = chars[i];
+            if (c == beginQuoteChar) {
+                // the quote may end a quoted block, or escape another quote (two quote chars in a row == one quote char)
+                if (inQuotes && i + 1 < to && chars[i + 1] == beginQuoteChar) {
+                    buf[pos++] = beginQuoteChar;
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                    if (retainQuotes) {
+                        buf[pos++] = c;
+                    }
+                }
+            } else if (c == endQuoteChar) {
+                inQuotes = !inQuotes;
+                if (retainQuotes) {
+                    buf[pos++] = c;
+                }
+            } else if (c == delimiter && !inQuotes) {
+                addToken(chars, fieldStart, i, tokenStart, pos);
+                fieldStart = i + 1;
+                tokenStart = pos;
+            } else {
+                buf[pos++] = c;
+            }
+        }
+        addToken(chars, fieldStart, to, tokenStart, pos);
+        return tokenCount;
+    }
+
+    private void addToken(char[] chars, int fieldStart, int fieldEnd, int tokenStart, int tokenEnd) {
+        if (trimTokens) {
+            while (fieldStart < fieldEnd && chars[fieldStart] <= ' ') {
+                fieldStart++;
+            }
+            while (fieldEnd > fieldStart && chars[fieldEnd - 1] <= ' ') {
+                fieldEnd--;
+            }
+            char[] buf = buffer;
+            while (tokenStart < tokenEnd && buf[tokenStart] <= ' ') {
+                tokenStart++;
+            }
+            while (tokenEnd > tokenStart && buf[tokenEnd - 1] <= ' ') {
+                tokenEnd--;
+            }
+        }
+        int idx = tokenCount * 4;
+        if (idx == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[idx] = fieldStart;
+        offsets[idx + 1] = fieldEnd;
+        offsets[idx + 2] = tokenStart;
+        offsets[idx + 3] = tokenEnd;
+        tokenCount++;
+    }
+
+    /**
+     * @return the number of tokens found in the last line.
+     */
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * Start offset of the token within the input, including any quote characters.
+     *
+     * @param index the index of the token.
+     * @return the start offset (inclusive) of the token.
+     */
+    public int getTokenStart(int index) {
+        return offsets[checkIndex(index) * 4];
+    }
+
+    /**
+     * End offset of the token within the input, including any quote characters.
+     *
+     * @param index the index of the token.
+     * @return the end offset (exclusive) of the token.
+     */
+    public int getTokenEnd(int index) {
+        return offsets[checkIndex(index) * 4 + 1];
+    }
+
+    /**
+     * @param index the index of the token.
+     * @return the length of the token value (quotes removed when not retained).
+     */
+    public int getTokenLength(int index) {
+        int idx = checkIndex(index) * 4;
+        return offsets[idx + 3] - offsets[idx + 2];
+    }
+
+    /**
+     * Returns the value of the token (quotes removed when not retained, escaped quotes resolved).
+     *
+     * @param index the index of the token.
+     * @return the value of the token.
+     */
+    public String getToken(int index) {
+        int idx = checkIndex(index) * 4;
+        return new String(buffer, offsets[idx + 2], offsets[idx + 3] - offsets[idx + 2]);
+    }
+
+    /**
+     * Appends the value of the token to the builder, without creating an intermediate String.
+     *
+     * @param index   the index of the token.
+     * @param builder the builder to append to.
+     * @return the builder.
+     */
+    public StringBuilder appendToken(int index, StringBuilder builder) {
+        int idx = checkIndex(index) * 4;
+        return builder.append(buffer, offsets[idx + 2], offsets[idx + 3] - offsets[idx + 2]);
+    }
+
+    /**
+     * @return the values of all the tokens of the last line.
+     */
+    public String[] getTokens() {
+        String[] result = new String[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            result[i] = new String(buffer, offsets[i * 4 + 2], offsets[i * 4 + 3] - offsets[i * 4 + 2]);
+        }
+        return result;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= tokenCount) {
+            throw new IndexOutOfBoundsException(String.format("Token index %s, number of tokens %s", index, tokenCount));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import be.atbash.util.collection.IntList;
+
+import java.util.Arrays;
+
+/**
+ * Precompiled set of prefixes which are matched ignoring the case of the ASCII letters. The prefixes are grouped by
+ * their first character so that only the prefixes with the same first character are compared. Instances are
+ * immutable and thread safe.
+ */
+@PublicAPI
+public final class PrefixMatcher {
+
+    private static final int TABLE_SIZE = 128;
+
+    private final String[] prefixes;
+    // Index of the prefixes by their (lower case) first character, for ASCII characters.
+    private final int[][] candidatesByFirstChar = new int[TABLE_SIZE][];
+    // Index of the prefixes which start with a non ASCII character.
+    private final int[] otherCandidates;
+
+    private PrefixMatcher(String[] prefixes) {
+        this.prefixes = prefixes;
+        IntList others = new IntList(0);
+        for (int i = 0; i < prefixes.length; i++) {
+            String prefix = prefixes[i];
+            if (prefix == null || prefix.isEmpty()) {
+                throw new IllegalArgumentException("Prefixes can't contain null or an empty value");
+            }
+            char first = StringUtils.toLowerAscii(prefix.charAt(0));
+            if (first < TABLE_SIZE) {
+                int[] current = candidatesByFirstChar[first];
+                current = current == null ? new int[1] : Arrays.copyOf(current, current.length + 1);
+                current[current.length - 1] = i;
+                candidatesByFirstChar[first] = current;
+            } else {
+                others.add(i);
+            }
+        }
+        otherCandidates = others.toArray();
+    }
+
+    /**
+     * Creates the matcher for the prefixes.
+     *
+     * @param prefixes the prefixes, ASCII letters are matched ignoring their case. Null or empty values are not allowed.
+     * @return the matcher.
+     */
+    public static PrefixMatcher ignoreAsciiCase(String... prefixes) {
+        return new PrefixMatcher(prefixes.clone());
+    }
+
+    /**
+     * Returns the index of the first prefix (in the order they are defined) with which the text starts.
+     *
+     * @param text the text to check, can be <code>null</code>.
+     * @return the index of the matching prefix, or -1 when there is no match.
+     */
+    public int indexOf(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return -1;
+        }
+        char first = StringUtils.toLowerAscii(text.charAt(0));
+        int[] candidates = first < TABLE_SIZE ? candidatesByFirstChar[first] : otherCandidates;
+        if (candidates != null) {
+            for (int candidate : candidates) {
+                String prefix = prefixes[candidate];
+                if (StringUtils.regionMatchesIgnoreAsciiCase(text, 0, prefix, 0, prefix.length())) {
+                    return candidate;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param text the text to check, can be <code>null</code>.
+     * @return <code>true</code> when the text starts with one of the prefixes.
+     */
+    public boolean matches(CharSequence text) {
+        return indexOf(text) >= 0;
+    }
+
+    /**
+     * @param text the text to check.
+     * @return the text without the matching prefix, or the text itself when there is no match.
+     */
+    public String stripPrefix(String text) {
+        int index = indexOf(text);
+        return index < 0 ? text : text.substring(prefixes[index].length());
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import java.util.Collection;
+
+/**
+ * Defines additional markers within the class name which identify a proxy class, for proxy libraries not known by
+ * {@link ProxyUtils}. Implementations are defined through the ServiceLoader mechanism.
+ */
+@PublicAPI
+public interface ProxyClassMarker {
+
+    /**
+     * Returns the markers, a class containing one of these values within its name is considered as a proxy class.
+     *
+     * @return the markers.
+     */
+    Collection<String> getMarkers();
+}
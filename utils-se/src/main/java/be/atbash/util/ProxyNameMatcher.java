@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import java.util.*;
+
+/**
+ * Determines if a text contains one of the markers, by scanning the text only once. The markers are grouped by their
+ * first character so that at each position only the markers starting with that character are verified.
+ */
+final class ProxyNameMatcher {
+
+    private static final int TABLE_SIZE = 128;
+
+    // Markers by their first character, for ASCII characters.
+    private final String[][] markersByFirstChar = new String[TABLE_SIZE][];
+    // Markers starting with a non ASCII character.
+    private final Map<Character, String[]> otherMarkers = new HashMap<>();
+
+    ProxyNameMatcher(Collection<String> markers) {
+        Map<Character, List<String>> grouped = new HashMap<>();
+        for (String marker : markers) {
+            if (marker != null && !marker.isEmpty()) {
+                grouped.computeIfAbsent(marker.charAt(0), c -> new ArrayList<>()).add(marker);
+            }
+        }
+        for (Map.Entry<Character, List<String>> entry : grouped.entrySet()) {
+            String[] values = entry.getValue().toArray(new String[0]);
+            char first = entry.getKey();
+            if (first < TABLE_SIZE) {
+                markersByFirstChar[first] = values;
+            } else {
+                otherMarkers.put(first, values);
+            }
+        }
+    }
+
+    boolean matches(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            String[] candidates = c < TABLE_SIZE ? markersByFirstChar[c] : otherMarkers.get(c);
+            if (candidates != null) {
+                for (String candidate : candidates) {
+                    if (text.startsWith(candidate, i)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -15,26 +15,61 @@
  */
 package be.atbash.util;
 
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
 /**
  * Utilities around proxied classes. Geared towards to Proxies generated by (CDI) libraries.
+ * <p>
+ * Proxy classes are recognized by a marker within their name (CGLIB, Javassist, Weld, OpenWebBeans, ByteBuddy,
+ * Hibernate and Spring are supported out of the box, additional markers can be defined by a {@link ProxyClassMarker})
+ * and JDK dynamic proxies. The result is determined only once for each class and cached.
+ * <p>
+ * The {@link ProxyClassMarker}s are loaded once, on the first check of a class name, with the context class loader of
+ * the thread performing that check. A provider which can't be loaded or fails is logged and skipped, the other
+ * markers (and the default ones) are still used.
  */
 @PublicAPI
 public final class ProxyUtils {
 
+    private static final List<String> DEFAULT_MARKERS = Arrays.asList(
+            "$$EnhancerByCGLIB$$",
+            "$$FastClassByCGLIB$$",
+            "$$EnhancerBySpringCGLIB$$",
+            "$$SpringCGLIB$$",
+            "_$$_javassist",
+            "_$$_jvst",
+            "$Proxy$_$$_Weld",
+            "$$Owb",
+            "$ByteBuddy$",
+            "$HibernateProxy$");
+
+    /**
+     * Protection against a proxy hierarchy which is not ending in a non-proxy class.
+     */
+    private static final int MAX_PROXY_LEVELS = 16;
+
+    private static final ClassValue<Class<?>> UNPROXIED_CLASSES = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> type) {
+            return determineUnproxiedClass(type);
+        }
+    };
+
     private ProxyUtils() {
     }
 
     /**
-     * Returns the 'real' Class of the proxy by returning the superclass of the proxy. When the class in the parameter
+     * Returns the 'real' Class of the proxy by returning the superclass of the proxy (or the first interface for a
+     * JDK dynamic proxy), repeated as long as that class is also a proxy. When the class in the parameter
      * isn't a proxy, the class itself is returned.
      * @param currentClass Class to get 'real' class from.
      * @return 'real' Class of the proxy
      */
     public static Class<?> getUnproxiedClass(Class<?> currentClass) {
-        if (isProxiedClass(currentClass)) {
-            return currentClass.getSuperclass();
-        }
-        return currentClass;
+        return UNPROXIED_CLASSES.get(currentClass);
     }
 
     /**
@@ -48,16 +83,86 @@ public final class ProxyUtils {
     }
 
     /**
-     * Test whether the class is a proxy class by inspecting the name.
+     * Test whether the class is a proxy class by inspecting the name (or is a JDK dynamic proxy).
      * @param currentClass Class to test
      * @return true if it is a proxy class.
      */
     public static boolean isProxiedClass(Class<?> currentClass) {
-        return currentClass.getName().contains("$$EnhancerByCGLIB$$") ||
-                currentClass.getName().contains("$$FastClassByCGLIB$$") ||
-                currentClass.getName().contains("_$$_javassist") ||
-                currentClass.getName().contains("$Proxy$_$$_Weld")||
-                currentClass.getName().contains("$$Owb");
+        return UNPROXIED_CLASSES.get(currentClass) != currentClass;
+    }
+
+    private static Class<?> determineUnproxiedClass(Class<?> currentClass) {
+        Class<?> result = currentClass;
+        int level = 0;
+        while (level < MAX_PROXY_LEVELS && isProxy(result)) {
+            Class<?> target = getProxyTarget(result);
+            if (target == null) {
+                break;
+            }
+            result = target;
+            level++;
+        }
+        return result;
+    }
+
+    private static boolean isProxy(Class<?> someClass) {
+        return Proxy.isProxyClass(someClass) || MarkerHolder.MATCHER.matches(someClass.getName());
+    }
+
+    private static Class<?> getProxyTarget(Class<?> proxyClass) {
+        if (Proxy.isProxyClass(proxyClass)) {
+            Class<?>[] interfaces = proxyClass.getInterfaces();
+            return interfaces.length == 0 ? null : interfaces[0];
+        }
+        Class<?> result = proxyClass.getSuperclass();
+        if (result == null || result == Object.class) {
+            // Proxy for an interface (like Hibernate or ByteBuddy can generate)
+            Class<?>[] interfaces = proxyClass.getInterfaces();
+            if (interfaces.length > 0) {
+                result = interfaces[0];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the default markers and those of the providers. A failing provider doesn't prevent the use of the others,
+     * so that a broken provider doesn't make the ProxyUtils unusable.
+     *
+     * @param providers the ProxyClassMarker providers, like a ServiceLoader iterator.
+     * @return all markers.
+     */
+    static Collection<String> loadMarkers(Iterator<ProxyClassMarker> providers) {
+        Set<String> result = new LinkedHashSet<>(DEFAULT_MARKERS);
+        while (hasNextProvider(providers)) {
+            try {
+                ProxyClassMarker proxyClassMarker = providers.next();
+                result.addAll(proxyClassMarker.getMarkers());
+            } catch (ServiceConfigurationError | RuntimeException e) {
+                LoggerFactory.getLogger(ProxyUtils.class).warn("Skipping the markers of ProxyClassMarker provider", e);
+            }
+        }
+        return result;
+    }
+
+    private static boolean hasNextProvider(Iterator<ProxyClassMarker> providers) {
+        try {
+            return providers.hasNext();
+        } catch (ServiceConfigurationError | RuntimeException e) {
+            // The remaining provider configuration can't be read reliably.
+            LoggerFactory.getLogger(ProxyUtils.class).warn("Skipping the remaining ProxyClassMarker providers", e);
+            return false;
+        }
     }
 
+    /**
+     * Lazy initialization of the markers, only loaded when needed.
+     */
+    private static final class MarkerHolder {
+
+        private static final ProxyNameMatcher MATCHER = new ProxyNameMatcher(loadMarkers(ServiceLoader.load(ProxyClassMarker.class).iterator()));
+
+        private MarkerHolder() {
+        }
+    }
 }
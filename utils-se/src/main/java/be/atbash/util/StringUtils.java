@@ -15,6 +15,9 @@
  */
 package be.atbash.util;
 
+import be.atbash.util.exception.AtbashUnexpectedException;
+
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -38,6 +41,13 @@ public final class StringUtils {
      */
     public static final char DEFAULT_QUOTE_CHAR = '"';
 
+    private static final int POOLED_BUILDER_CAPACITY = 256;
+    private static final int MAX_POOLED_BUILDER_CAPACITY = 1024;
+    // Estimated length of the String representation of a value which isn't a CharSequence.
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+
+    private static final ThreadLocal<BuilderHolder> POOLED_BUILDER = ThreadLocal.withInitial(BuilderHolder::new);
+
     /**
      * Singleton pattern.
      */
@@ -146,15 +156,107 @@ public final class StringUtils {
         if (str == null || prefix == null) {
             return false;
         }
-        if (str.startsWith(prefix)) {
-            return true;
+        return str.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    /**
+     * Compares a region of 2 character sequences where only the ASCII letters A-Z are considered equal to their
+     * lower case variant. Other characters must be identical. Independent of the default Locale and without creating objects.
+     *
+     * @param str         the first character sequence.
+     * @param offset      the start of the region within the first character sequence.
+     * @param other       the second character sequence.
+     * @param otherOffset the start of the region within the second character sequence.
+     * @param length      the number of characters to compare.
+     * @return <code>true</code> when both regions exists and match.
+     */
+    public static boolean regionMatchesIgnoreAsciiCase(CharSequence str, int offset, CharSequence other, int otherOffset, int length) {
+        if (str == null || other == null) {
+            return false;
         }
-        if (str.length() < prefix.length()) {
+        if (offset < 0 || otherOffset < 0 || length < 0
+                || offset > str.length() - length || otherOffset > other.length() - length) {
             return false;
         }
-        String lcStr = str.substring(0, prefix.length()).toLowerCase();
-        String lcPrefix = prefix.toLowerCase();
-        return lcStr.equals(lcPrefix);
+        for (int i = 0; i < length; i++) {
+            char c1 = str.charAt(offset + i);
+            char c2 = other.charAt(otherOffset + i);
+            if (c1 != c2 && toLowerAscii(c1) != toLowerAscii(c2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Test if both character sequences are equal, ignoring the case of the ASCII letters.
+     *
+     * @param str   the first character sequence, can be <code>null</code>.
+     * @param other the second character sequence, can be <code>null</code>.
+     * @return <code>true</code> when both are <code>null</code> or equal ignoring the ASCII case.
+     * @see #regionMatchesIgnoreAsciiCase(CharSequence, int, CharSequence, int, int)
+     */
+    public static boolean equalsIgnoreAsciiCase(CharSequence str, CharSequence other) {
+        if (str == null || other == null) {
+            return str == other;
+        }
+        return str.length() == other.length() && regionMatchesIgnoreAsciiCase(str, 0, other, 0, str.length());
+    }
+
+    /**
+     * Test if the character sequence starts with the prefix, ignoring the case of the ASCII letters.
+     *
+     * @param str    the character sequence to check.
+     * @param prefix the prefix to look for.
+     * @return <code>true</code> when it starts with the prefix, <code>false</code> if it does not or when a parameter is <code>null</code>.
+     * @see #regionMatchesIgnoreAsciiCase(CharSequence, int, CharSequence, int, int)
+     */
+    public static boolean startsWithIgnoreAsciiCase(CharSequence str, CharSequence prefix) {
+        return prefix != null && regionMatchesIgnoreAsciiCase(str, 0, prefix, 0, prefix.length());
+    }
+
+    /**
+     * Test if the character sequence ends with the suffix, ignoring the case of the ASCII letters.
+     *
+     * @param str    the character sequence to check.
+     * @param suffix the suffix to look for.
+     * @return <code>true</code> when it ends with the suffix, <code>false</code> if it does not or when a parameter is <code>null</code>.
+     * @see #regionMatchesIgnoreAsciiCase(CharSequence, int, CharSequence, int, int)
+     */
+    public static boolean endsWithIgnoreAsciiCase(CharSequence str, CharSequence suffix) {
+        return str != null && suffix != null
+                && regionMatchesIgnoreAsciiCase(str, str.length() - suffix.length(), suffix, 0, suffix.length());
+    }
+
+    /**
+     * Returns the index of the first occurrence of the search sequence, ignoring the case of the ASCII letters.
+     *
+     * @param str       the character sequence to search in.
+     * @param search    the character sequence to look for.
+     * @param fromIndex the index to start the search from.
+     * @return the index of the first occurrence, or -1 when not found or when a parameter is <code>null</code>.
+     * @see #regionMatchesIgnoreAsciiCase(CharSequence, int, CharSequence, int, int)
+     */
+    public static int indexOfIgnoreAsciiCase(CharSequence str, CharSequence search, int fromIndex) {
+        if (str == null || search == null) {
+            return -1;
+        }
+        int length = search.length();
+        int last = str.length() - length;
+        if (length == 0) {
+            return Math.min(Math.max(fromIndex, 0), str.length());
+        }
+        char first = toLowerAscii(search.charAt(0));
+        for (int i = Math.max(fromIndex, 0); i <= last; i++) {
+            if (toLowerAscii(str.charAt(i)) == first && regionMatchesIgnoreAsciiCase(str, i + 1, search, 1, length - 1)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
     }
 
     /**
@@ -208,7 +310,21 @@ public final class StringUtils {
         if (array == null || array.length == 0) {
             return EMPTY_STRING;
         }
-        return toDelimitedString(delimiter, Arrays.asList(array));
+        if (array.length == 1) {
+            return array[0] == null ? EMPTY_STRING : array[0].toString();
+        }
+        int estimatedLength = estimateLength(delimiter, array.length);
+        for (Object item : array) {
+            estimatedLength += estimateLength(item);
+        }
+        BuilderHolder holder = acquireBuilder(estimatedLength);
+        StringBuilder buf = holder == null ? newBuilder(estimatedLength) : holder.builder;
+        try {
+            appendArray(buf, delimiter, array);
+            return buf.toString();
+        } finally {
+            releaseBuilder(holder);
+        }
     }
 
     /**
@@ -223,7 +339,21 @@ public final class StringUtils {
         if (collection == null || collection.isEmpty()) {
             return EMPTY_STRING;
         }
-        return toDelimitedString(delimiter, collection.iterator());
+        if (collection.size() == 1) {
+            return toDelimitedString(delimiter, collection.iterator());
+        }
+        int estimatedLength = estimateLength(delimiter, collection.size());
+        for (Object item : collection) {
+            estimatedLength += estimateLength(item);
+        }
+        BuilderHolder holder = acquireBuilder(estimatedLength);
+        StringBuilder buf = holder == null ? newBuilder(estimatedLength) : holder.builder;
+        try {
+            appendIterator(buf, delimiter, collection.iterator());
+            return buf.toString();
+        } finally {
+            releaseBuilder(holder);
+        }
     }
 
     /**
@@ -254,26 +384,183 @@ public final class StringUtils {
             return first == null ? empty : first.toString();
         }
 
-        // two or more elements
-        StringBuilder buf = new StringBuilder(256); // Java default is 16, probably too small
-        if (first != null) {
-            buf.append(first);
+        // two or more elements, size unknown so use the reusable builder of the thread.
+        BuilderHolder holder = acquireBuilder(POOLED_BUILDER_CAPACITY);
+        StringBuilder buf = holder == null ? newBuilder(POOLED_BUILDER_CAPACITY) : holder.builder;
+        try {
+            if (first != null) {
+                buf.append(first);
+            }
+            while (iterator.hasNext()) {
+                if (separator != null) {
+                    buf.append(separator);
+                }
+                Object obj = iterator.next();
+                if (obj != null) {
+                    buf.append(obj);
+                }
+            }
+            return buf.toString();
+        } finally {
+            releaseBuilder(holder);
+        }
+    }
+
+    /**
+     * Appends the values to the target, each value separated by the separator. <code>null</code> values are
+     * not appended (but the separator is). {@code CharSequence} values are appended without creating a String.
+     *
+     * @param target    the target to append to, like a {@link StringBuilder} or a {@link java.io.Writer}.
+     * @param separator the separator between the values, null treated as ""
+     * @param values    the values to append, may be null.
+     * @param <A>       the type of the target.
+     * @return the target.
+     * @throws AtbashUnexpectedException when the target throws an IOException.
+     */
+    public static <A extends Appendable> A appendDelimited(A target, String separator, Iterable<?> values) {
+        if (values == null) {
+            return target;
+        }
+        if (target instanceof StringBuilder) {
+            appendIterator((StringBuilder) target, separator, values.iterator());
+            return target;
+        }
+        try {
+            boolean first = true;
+            for (Object value : values) {
+                if (!first && separator != null) {
+                    target.append(separator);
+                }
+                appendValue(target, value);
+                first = false;
+            }
+        } catch (IOException e) {
+            throw new AtbashUnexpectedException(e);
+        }
+        return target;
+    }
+
+    /**
+     * Appends the values to the target, each value separated by the separator. <code>null</code> values are
+     * not appended (but the separator is). {@code CharSequence} values are appended without creating a String.
+     *
+     * @param target    the target to append to, like a {@link StringBuilder} or a {@link java.io.Writer}.
+     * @param separator the separator between the values, null treated as ""
+     * @param values    the values to append, may be null.
+     * @param <A>       the type of the target.
+     * @return the target.
+     * @throws AtbashUnexpectedException when the target throws an IOException.
+     */
+    public static <A extends Appendable> A appendDelimited(A target, String separator, Object... values) {
+        if (values == null) {
+            return target;
+        }
+        if (target instanceof StringBuilder) {
+            appendArray((StringBuilder) target, separator, values);
+            return target;
+        }
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0 && separator != null) {
+                    target.append(separator);
+                }
+                appendValue(target, values[i]);
+            }
+        } catch (IOException e) {
+            throw new AtbashUnexpectedException(e);
+        }
+        return target;
+    }
+
+    private static void appendValue(Appendable target, Object value) throws IOException {
+        if (value instanceof CharSequence) {
+            target.append((CharSequence) value);
+        } else if (value != null) {
+            target.append(value.toString());
+        }
+    }
+
+    private static void appendArray(StringBuilder buf, String separator, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0 && separator != null) {
+                buf.append(separator);
+            }
+            Object value = values[i];
+            if (value instanceof CharSequence) {
+                buf.append((CharSequence) value);
+            } else if (value != null) {
+                buf.append(value);
+            }
         }
+    }
 
+    private static void appendIterator(StringBuilder buf, String separator, Iterator<?> iterator) {
+        boolean first = true;
         while (iterator.hasNext()) {
-            if (separator != null) {
+            if (!first && separator != null) {
                 buf.append(separator);
             }
-            Object obj = iterator.next();
-            if (obj != null) {
-                buf.append(obj);
+            Object value = iterator.next();
+            if (value instanceof CharSequence) {
+                buf.append((CharSequence) value);
+            } else if (value != null) {
+                buf.append(value);
             }
+            first = false;
+        }
+    }
+
+    private static int estimateLength(String separator, int count) {
+        return separator == null ? 0 : separator.length() * (count - 1);
+    }
+
+    private static int estimateLength(Object value) {
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
         }
-        return buf.toString();
+        return value == null ? 0 : ESTIMATED_VALUE_LENGTH;
     }
 
     /**
-     * Tokenize the given String into a String array via a StringTokenizer.
+     * Returns the reusable builder of the current thread when the expected length is small and the builder isn't
+     * already in use (a toString() of a value can call toDelimitedString again). Otherwise null is returned and the
+     * caller must use a new StringBuilder.
+     */
+    private static BuilderHolder acquireBuilder(int estimatedLength) {
+        if (estimatedLength < 0 || estimatedLength > MAX_POOLED_BUILDER_CAPACITY) {
+            return null;
+        }
+        BuilderHolder holder = POOLED_BUILDER.get();
+        if (holder.inUse) {
+            return null;
+        }
+        holder.inUse = true;
+        holder.builder.setLength(0);
+        return holder;
+    }
+
+    private static StringBuilder newBuilder(int estimatedLength) {
+        // A negative value means the estimate overflowed.
+        return new StringBuilder(estimatedLength < 0 ? POOLED_BUILDER_CAPACITY : estimatedLength);
+    }
+
+    private static void releaseBuilder(BuilderHolder holder) {
+        if (holder != null) {
+            if (holder.builder.capacity() > MAX_POOLED_BUILDER_CAPACITY) {
+                // Don't keep large buffers around for each thread.
+                holder.builder = new StringBuilder(POOLED_BUILDER_CAPACITY);
+            }
+            holder.inUse = false;
+        }
+    }
+
+    private static final class BuilderHolder {
+        private StringBuilder builder = new StringBuilder(POOLED_BUILDER_CAPACITY);
+        private boolean inUse;
+    }
+
+    /**
+     * Tokenize the given String into a String array, with the same semantics as a StringTokenizer.
      * Trims tokens and omits empty tokens.
      * <p>The given delimiters string is supposed to consist of any number of
      * delimiter characters. Each of those characters can be used to separate
@@ -292,7 +579,7 @@ public final class StringUtils {
     }
 
     /**
-     * Tokenize the given String into a String array via a StringTokenizer.
+     * Tokenize the given String into a String array, with the same semantics as a StringTokenizer.
      * <p>The given delimiters string is supposed to consist of any number of
      * delimiter characters. Each of those characters can be used to separate
      * tokens. A delimiter is always a single character;
@@ -316,18 +603,128 @@ public final class StringUtils {
         if (str == null) {
             return null;
         }
-        StringTokenizer st = new StringTokenizer(str, delimiters);
-        List<String> tokens = new ArrayList<>();
-        while (st.hasMoreTokens()) {
-            String token = st.nextToken();
+        long lowMask = delimiterMask(delimiters, 0);
+        long highMask = delimiterMask(delimiters, 64);
+        boolean nonAscii = hasNonAsciiDelimiter(delimiters);
+        // First pass counts the tokens so that the result array has the exact size.
+        int count = scanTokens(str, delimiters, lowMask, highMask, nonAscii, trimTokens, ignoreEmptyTokens, null, null);
+        String[] result = new String[count];
+        if (count > 0) {
+            scanTokens(str, delimiters, lowMask, highMask, nonAscii, trimTokens, ignoreEmptyTokens, result, null);
+        }
+        return result;
+    }
+
+    /**
+     * Tokenize the given String and report the position of each token to the consumer, without creating any String.
+     * Trims tokens and omits empty tokens, like {@link #tokenizeToStringArray(String, String)}.
+     *
+     * @param str        the String to tokenize, can be <code>null</code>.
+     * @param delimiters the delimiter characters, assembled as String
+     *                   (each of those characters is individually considered as delimiter).
+     * @param consumer   receives the start and end index of each token.
+     * @return the number of tokens.
+     */
+    public static int tokenize(String str, String delimiters, TokenConsumer consumer) {
+        return tokenize(str, delimiters, true, true, consumer);
+    }
+
+    /**
+     * Tokenize the given String and report the position of each token to the consumer, without creating any String.
+     *
+     * @param str               the String to tokenize, can be <code>null</code>.
+     * @param delimiters        the delimiter characters, assembled as String
+     *                          (each of those characters is individually considered as delimiter)
+     * @param trimTokens        exclude leading and trailing whitespace from the token, like String's <code>trim</code>
+     * @param ignoreEmptyTokens don't report empty tokens (only applies to tokens that are empty after trimming;
+     *                          subsequent delimiters are not considered as token in the first place).
+     * @param consumer          receives the start and end index of each token.
+     * @return the number of tokens.
+     */
+    public static int tokenize(String str, String delimiters, boolean trimTokens, boolean ignoreEmptyTokens, TokenConsumer consumer) {
+        if (str == null) {
+            return 0;
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("Parameter consumer can't be null");
+        }
+        return scanTokens(str, delimiters, delimiterMask(delimiters, 0), delimiterMask(delimiters, 64)
+                , hasNonAsciiDelimiter(delimiters), trimTokens, ignoreEmptyTokens, null, consumer);
+    }
+
+    /**
+     * Bitset of the delimiters within the range [base, base + 64).
+     */
+    private static long delimiterMask(String delimiters, int base) {
+        long mask = 0L;
+        for (int i = 0; i < delimiters.length(); i++) {
+            int c = delimiters.charAt(i) - base;
+            if (c >= 0 && c < 64) {
+                mask |= 1L << c;
+            }
+        }
+        return mask;
+    }
+
+    private static boolean hasNonAsciiDelimiter(String delimiters) {
+        for (int i = 0; i < delimiters.length(); i++) {
+            if (delimiters.charAt(i) >= 128) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isDelimiter(char c, String delimiters, long lowMask, long highMask, boolean nonAscii) {
+        if (c < 64) {
+            return (lowMask & (1L << c)) != 0;
+        }
+        if (c < 128) {
+            return (highMask & (1L << (c - 64))) != 0;
+        }
+        return nonAscii && delimiters.indexOf(c) >= 0;
+    }
+
+    /**
+     * Scans the tokens, same semantics as a StringTokenizer. Fills the result array when specified and calls the
+     * consumer when specified, returns the number of tokens.
+     */
+    private static int scanTokens(String str, String delimiters, long lowMask, long highMask, boolean nonAscii,
+                                  boolean trimTokens, boolean ignoreEmptyTokens, String[] result, TokenConsumer consumer) {
+        int count = 0;
+        int length = str.length();
+        int pos = 0;
+        while (pos < length) {
+            while (pos < length && isDelimiter(str.charAt(pos), delimiters, lowMask, highMask, nonAscii)) {
+                pos++;
+            }
+            if (pos == length) {
+                break;
+            }
+            int start = pos;
+            while (pos < length && !isDelimiter(str.charAt(pos), delimiters, lowMask, highMask, nonAscii)) {
+                pos++;
+            }
+            int end = pos;
             if (trimTokens) {
-                token = token.trim();
+                while (start < end && str.charAt(start) <= ' ') {
+                    start++;
+                }
+                while (end > start && str.charAt(end - 1) <= ' ') {
+                    end--;
+                }
             }
-            if (!ignoreEmptyTokens || token.length() > 0) {
-                tokens.add(token);
+            if (!ignoreEmptyTokens || start < end) {
+                if (result != null) {
+                    result[count] = str.substring(start, end);
+                }
+                if (consumer != null) {
+                    consumer.accept(start, end);
+                }
+                count++;
             }
         }
-        return toStringArray(tokens);
+        return count;
     }
 
     /**
@@ -406,6 +803,8 @@ public final class StringUtils {
      * <p/>
      * That file is Apache 2.0 licensed as well, making Glen's code a great starting point for us to modify to
      * our needs.
+     * <p/>
+     * For splitting a large number of lines, use a {@link LineTokenizer} instance or a {@link DelimitedReader} which reuse their buffers.
      *
      * @param aLine          the String to parse
      * @param delimiter      the delimiter by which the <tt>line</tt> argument is to be split
@@ -417,56 +816,11 @@ public final class StringUtils {
      */
     public static String[] split(String aLine, char delimiter, char beginQuoteChar, char endQuoteChar,
                                  boolean retainQuotes, boolean trimTokens) {
-        String line = clean(aLine);
-        if (line == null) {
+        LineTokenizer tokenizer = new LineTokenizer(delimiter, beginQuoteChar, endQuoteChar, retainQuotes, trimTokens);
+        if (tokenizer.tokenize(aLine) == 0) {
             return null;
         }
-
-        List<String> tokens = new ArrayList<>();
-        StringBuilder sb = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-
-            char c = line.charAt(i);
-            if (c == beginQuoteChar) {
-                // this gets complex... the quote may end a quoted block, or escape another quote.
-                // do a 1-char lookahead:
-                if (inQuotes  // we are in quotes, therefore there can be escaped quotes in here.
-                        && line.length() > (i + 1)  // there is indeed another character to check.
-                        && line.charAt(i + 1) == beginQuoteChar) { // ..and that char. is a quote also.
-                    // we have two quote chars in a row == one quote char, so consume them both and
-                    // put one on the token. we do *not* exit the quoted text.
-                    sb.append(line.charAt(i + 1));
-                    i++;
-                } else {
-                    inQuotes = !inQuotes;
-                    if (retainQuotes) {
-                        sb.append(c);
-                    }
-                }
-            } else if (c == endQuoteChar) {
-                inQuotes = !inQuotes;
-                if (retainQuotes) {
-                    sb.append(c);
-                }
-            } else if (c == delimiter && !inQuotes) {
-                String s = sb.toString();
-                if (trimTokens) {
-                    s = s.trim();
-                }
-                tokens.add(s);
-                sb = new StringBuilder(); // start work on next token
-            } else {
-                sb.append(c);
-            }
-        }
-        String s = sb.toString();
-        if (trimTokens) {
-            s = s.trim();
-        }
-        tokens.add(s);
-        return tokens.toArray(new String[0]);
+        return tokenizer.getTokens();
     }
 
     /**
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+/**
+ * Receives the position of each token found by {@link StringUtils#tokenize(String, String, TokenConsumer)}, so that
+ * the caller decides if a String needs to be created for the token.
+ */
+@PublicAPI
+@FunctionalInterface
+public interface TokenConsumer {
+
+    /**
+     * Called for each token.
+     *
+     * @param start the start index (inclusive) of the token within the String.
+     * @param end   the end index (exclusive) of the token within the String.
+     */
+    void accept(int start, int end);
+}
@@ -113,29 +113,9 @@ public class Base32Codec {
             throw new IllegalArgumentException();
         }
 
-        int outputLength = (data.length * 8 + shift - 1) / shift;
-        StringBuilder result = new StringBuilder(outputLength);
-
-        int buffer = data[0];
-        int next = 1;
-        int bitsLeft = 8;
-        while (bitsLeft > 0 || next < data.length) {
-            if (bitsLeft < shift) {
-                if (next < data.length) {
-                    buffer <<= 8;
-                    buffer |= (data[next++] & 0xff);
-                    bitsLeft += 8;
-                } else {
-                    int pad = shift - bitsLeft;
-                    buffer <<= pad;
-                    bitsLeft += pad;
-                }
-            }
-            int index = mask & (buffer >> (bitsLeft - shift));
-            bitsLeft -= shift;
-            result.append(digits[index]);
-        }
-        return result.toString();
+        char[] result = new char[BulkEncoder.base32Length(data.length)];
+        BulkEncoder.encodeBase32(data, 0, data.length, digits, result, 0);
+        return new String(result);
     }
 
     private static final Base32Codec INSTANCE =
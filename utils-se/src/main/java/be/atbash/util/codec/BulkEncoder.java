@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.codec;
+
+/**
+ * Encoding engine for Hex and Base32 used for bulk data. Hex encoding processes 8 bytes at a time within a
+ * {@code long} (SWAR, SIMD within a register) so that all 16 digits are calculated with a few arithmetic operations
+ * instead of a table lookup per nibble. Base32 encoding processes blocks of 5 bytes (40 bits) at once.
+ * The remaining bytes are handled by a scalar loop which results in the identical output.
+ */
+final class BulkEncoder {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+    private static final long LANE_BIT = 0x0101010101010101L;
+    private static final long DIGIT_ZERO = 0x3030303030303030L;  // '0' in every byte lane
+    private static final long LETTER_THRESHOLD = 0x0606060606060606L;  // Lanes with nibble >= 10 become >= 16
+    private static final int LETTER_OFFSET = 'A' - '9' - 1;
+
+    private BulkEncoder() {
+    }
+
+    /**
+     * Encodes the bytes as hexadecimal digits (uppercase) into the output array, which must have room for
+     * {@code 2 * length} characters starting at {@code outOffset}.
+     */
+    static void encodeHex(byte[] data, int offset, int length, char[] out, int outOffset) {
+        int i = offset;
+        int j = outOffset;
+        int wordEnd = offset + (length & ~7);
+        while (i < wordEnd) {
+            long word = readLong(data, i);
+            long high = toHexDigits((word >>> 4) & LOW_NIBBLES);
+            long low = toHexDigits(word & LOW_NIBBLES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out[j++] = (char) ((high >>> shift) & 0xFF);
+                out[j++] = (char) ((low >>> shift) & 0xFF);
+            }
+            i += 8;
+        }
+        encodeHexScalar(data, i, offset + length - i, out, j);
+    }
+
+    static void encodeHexScalar(byte[] data, int offset, int length, char[] out, int outOffset) {
+        int j = outOffset;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            out[j++] = HEX_DIGITS[(0xF0 & data[i]) >>> 4];
+            out[j++] = HEX_DIGITS[0x0F & data[i]];
+        }
+    }
+
+    /**
+     * Converts the nibble value (0-15) within each byte lane to the ASCII code of the hexadecimal digit.
+     */
+    private static long toHexDigits(long nibbles) {
+        // Bit 4 of (nibble + 6) is only set for nibbles 10-15, they need the extra offset from '9' to 'A'.
+        long letters = ((nibbles + LETTER_THRESHOLD) >>> 4) & LANE_BIT;
+        return nibbles + DIGIT_ZERO + letters * LETTER_OFFSET;
+    }
+
+    private static long readLong(byte[] data, int index) {
+        return ((long) data[index] << 56)
+                | ((data[index + 1] & 0xFFL) << 48)
+                | ((data[index + 2] & 0xFFL) << 40)
+                | ((data[index + 3] & 0xFFL) << 32)
+                | ((data[index + 4] & 0xFFL) << 24)
+                | ((data[index + 5] & 0xFFL) << 16)
+                | ((data[index + 6] & 0xFFL) << 8)
+                | (data[index + 7] & 0xFFL);
+    }
+
+    /**
+     * The number of characters needed to encode the bytes with Base32 (without padding).
+     */
+    static int base32Length(int length) {
+        return (int) (((long) length * 8 + 4) / 5);
+    }
+
+    /**
+     * Encodes the bytes as Base32 (without padding) using the alphabet of 32 characters into the output array,
+     * which must have room for {@link #base32Length(int)} characters starting at {@code outOffset}.
+     */
+    static void encodeBase32(byte[] data, int offset, int length, char[] alphabet, char[] out, int outOffset) {
+        int i = offset;
+        int j = outOffset;
+        int blockEnd = offset + length - (length % 5);
+        while (i < blockEnd) {
+            long block = ((data[i] & 0xFFL) << 32)
+                    | ((data[i + 1] & 0xFFL) << 24)
+                    | ((data[i + 2] & 0xFFL) << 16)
+                    | ((data[i + 3] & 0xFFL) << 8)
+                    | (data[i + 4] & 0xFFL);
+            out[j++] = alphabet[(int) (block >>> 35) & 31];
+            out[j++] = alphabet[(int) (block >>> 30) & 31];
+            out[j++] = alphabet[(int) (block >>> 25) & 31];
+            out[j++] = alphabet[(int) (block >>> 20) & 31];
+            out[j++] = alphabet[(int) (block >>> 15) & 31];
+            out[j++] = alphabet[(int) (block >>> 10) & 31];
+            out[j++] = alphabet[(int) (block >>> 5) & 31];
+            out[j++] = alphabet[(int) block & 31];
+            i += 5;
+        }
+        int remaining = offset + length - i;
+        if (remaining > 0) {
+            // Scalar handling of the last 1-4 bytes, the last character is padded with zero bits.
+            long block = 0;
+            for (int k = 0; k < remaining; k++) {
+                block = (block << 8) | (data[i + k] & 0xFFL);
+            }
+            int bits = remaining * 8;
+            int padding = (5 - bits % 5) % 5;
+            block <<= padding;
+            for (bits += padding - 5; bits >= 0; bits -= 5) {
+                out[j++] = alphabet[(int) (block >>> bits) & 31];
+            }
+        }
+    }
+}
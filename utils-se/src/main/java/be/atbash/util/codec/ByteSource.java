@@ -17,9 +17,6 @@ package be.atbash.util.codec;
 
 import be.atbash.util.PublicAPI;
 
-import java.util.Iterator;
-import java.util.ServiceLoader;
-
 /**
  * A {@code ByteSource} wraps a byte array and provides additional encoding operations.  Most users will find the
  * {@link DefaultByteSourceCreator} class sufficient to construct ByteSource instances.
@@ -71,6 +68,29 @@ public interface ByteSource {
      */
     boolean isEmpty();
 
+    /**
+     * Computes the digest of the underlying bytes, see {@link DigestSupport#digest(String, ByteSource)}.
+     *
+     * @param algorithm the name of the digest algorithm, like SHA-256.
+     * @return the digest value.
+     * @throws CodecException when the algorithm is not supported.
+     */
+    default ByteSource digest(String algorithm) {
+        return DigestSupport.digest(algorithm, this);
+    }
+
+    /**
+     * Computes the HMAC of the underlying bytes, see {@link DigestSupport#hmac(String, byte[], ByteSource)}.
+     *
+     * @param algorithm the name of the MAC algorithm, like HmacSHA256.
+     * @param key       the secret key.
+     * @return the HMAC value.
+     * @throws CodecException when the algorithm is not supported or the key is not valid for the algorithm.
+     */
+    default ByteSource hmac(String algorithm, byte[] key) {
+        return DigestSupport.hmac(algorithm, key, this);
+    }
+
     ByteSourceCreator creator = CreatorInitializer.defineCreator();
 
     final class CreatorInitializer {
@@ -79,13 +99,7 @@ public interface ByteSource {
         }
 
         static ByteSourceCreator defineCreator() {
-
-            Iterator<ByteSourceCreator> creatorIterator = ServiceLoader.load(ByteSourceCreator.class).iterator();
-            if (creatorIterator.hasNext()) {
-                return creatorIterator.next(); // TODO What if there are multiple defined?
-            } else {
-                return new DefaultByteSourceCreator();
-            }
+            return ByteSourceCreatorRegistry.getInstance();
         }
     }
 
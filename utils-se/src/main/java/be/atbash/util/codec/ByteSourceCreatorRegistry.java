@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.codec;
+
+import be.atbash.util.AnnotationUtil;
+import be.atbash.util.PublicAPI;
+import be.atbash.util.ordered.Order;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The {@link ByteSourceCreator} available as {@link ByteSource#creator}. It combines
+ * <ul>
+ * <li>the creators registered for a specific type with {@link #register(Class, Function)}. The creator is determined
+ * by the exact class of the source (or the most specific registered super type) and cached for each class.</li>
+ * <li>all {@link ByteSourceCreator}s defined through the ServiceLoader mechanism, ordered according to their
+ * {@link Order} annotation (no annotation means the value 0).</li>
+ * <li>the {@link DefaultByteSourceCreator} as last one.</li>
+ * </ul>
+ * The first one that is compatible with the source is used to create the {@link ByteSource}.
+ */
+@PublicAPI
+public final class ByteSourceCreatorRegistry implements ByteSourceCreator {
+
+    private static final ByteSourceCreatorRegistry INSTANCE = new ByteSourceCreatorRegistry(loadCreators());
+
+    private final List<ByteSourceCreator> creators;
+    private final Map<Class<?>, Function<Object, ByteSource>> typeCreators = new ConcurrentHashMap<>();
+    // A new instance is created on each registration, so that no outdated resolution is kept.
+    private volatile ClassValue<Function<Object, ByteSource>> typeDispatch = createTypeDispatch();
+
+    private ByteSourceCreatorRegistry(List<ByteSourceCreator> creators) {
+        this.creators = Collections.unmodifiableList(creators);
+    }
+
+    private static List<ByteSourceCreator> loadCreators() {
+        List<ByteSourceCreator> result = new ArrayList<>();
+        for (ByteSourceCreator creator : ServiceLoader.load(ByteSourceCreator.class)) {
+            if (!isCreatorFound(result, creator.getClass())) {
+                result.add(creator);
+            }
+        }
+        if (!isCreatorFound(result, DefaultByteSourceCreator.class)) {
+            result.add(new DefaultByteSourceCreator());
+        }
+        // Stable sort so that creators with the same order keep the ServiceLoader order.
+        result.sort(Comparator.comparingLong(ByteSourceCreatorRegistry::getOrder));
+        return result;
+    }
+
+    private static boolean isCreatorFound(List<ByteSourceCreator> creators, Class<?> creatorClass) {
+        boolean result = false;
+        for (ByteSourceCreator creator : creators) {
+            // We need to check the class here, but since we are using FQCN Sonar check can be disabled here.
+            if (creator.getClass().getName().equals(creatorClass.getName())) { // NOSONAR
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    private static long getOrder(ByteSourceCreator creator) {
+        Order order = AnnotationUtil.getAnnotation(creator.getClass(), Order.class);
+        return order == null ? 0 : order.value();
+    }
+
+    /**
+     * Registers the creator for the type. Instances of the type, or of a subtype, are converted by this creator
+     * before any of the {@link ByteSourceCreator}s is consulted. When multiple registered types match, the creator
+     * for the most specific type is used.
+     *
+     * @param type    the type of the source.
+     * @param creator the function creating the {@link ByteSource} for the source.
+     * @param <T>     the type of the source.
+     */
+    public <T> void register(Class<T> type, Function<? super T, ? extends ByteSource> creator) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(creator);
+        typeCreators.put(type, source -> creator.apply(type.cast(source)));
+        typeDispatch = createTypeDispatch();
+    }
+
+    /**
+     * Returns the {@link ByteSourceCreator}s, in the order they are consulted.
+     *
+     * @return the {@link ByteSourceCreator}s.
+     */
+    public List<ByteSourceCreator> getCreators() {
+        return creators;
+    }
+
+    @Override
+    public boolean isCompatible(Object source) {
+        if (source == null) {
+            return false;
+        }
+        if (typeDispatch.get(source.getClass()) != null) {
+            return true;
+        }
+        for (ByteSourceCreator creator : creators) {
+            if (creator.isCompatible(source)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public ByteSource bytes(Object source) {
+        if (source == null) {
+            return null;
+        }
+        Function<Object, ByteSource> typeCreator = typeDispatch.get(source.getClass());
+        if (typeCreator != null) {
+            return typeCreator.apply(source);
+        }
+        for (ByteSourceCreator creator : creators) {
+            if (creator.isCompatible(source)) {
+                return creator.bytes(source);
+            }
+        }
+        String msg = String.format("Unable to acquire bytes for object of type [%s]. Register a creator for this type" +
+                " or write your own ByteSourceCreator implementation to extract its bytes explicitly.", source.getClass().getName());
+        throw new CodecException(msg);
+    }
+
+    private ClassValue<Function<Object, ByteSource>> createTypeDispatch() {
+        return new ClassValue<Function<Object, ByteSource>>() {
+            @Override
+            protected Function<Object, ByteSource> computeValue(Class<?> type) {
+                return findTypeCreator(type);
+            }
+        };
+    }
+
+    private Function<Object, ByteSource> findTypeCreator(Class<?> type) {
+        Function<Object, ByteSource> result = typeCreators.get(type);
+        if (result == null) {
+            Class<?> mostSpecific = null;
+            for (Map.Entry<Class<?>, Function<Object, ByteSource>> entry : typeCreators.entrySet()) {
+                Class<?> candidate = entry.getKey();
+                if (candidate.isAssignableFrom(type) && (mostSpecific == null || mostSpecific.isAssignableFrom(candidate))) {
+                    mostSpecific = candidate;
+                    result = entry.getValue();
+                }
+            }
+        }
+        return result;
+    }
+
+    public static ByteSourceCreatorRegistry getInstance() {
+        return INSTANCE;
+    }
+}
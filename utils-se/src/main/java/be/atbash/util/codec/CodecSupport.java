@@ -19,6 +19,10 @@ package be.atbash.util.codec;
 import be.atbash.util.PublicAPI;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.util.Arrays;
 
 /**
  * Base abstract class that provides useful encoding and decoding operations, especially for character data.
@@ -32,28 +36,35 @@ public abstract class CodecSupport {
      */
     public static final String PREFERRED_ENCODING = "UTF-8";
 
+    /**
+     * Default preferred character set, equal to <b><code>UTF-8</code></b>.
+     */
+    public static final Charset PREFERRED_CHARSET = StandardCharsets.UTF_8;
+
+    /**
+     * Encoder and decoder instances for the preferred character set, reused per thread as they are not thread safe.
+     */
+    private static final ThreadLocal<CharsetEncoder> PREFERRED_ENCODER = ThreadLocal.withInitial(() -> newEncoder(PREFERRED_CHARSET));
+    private static final ThreadLocal<CharsetDecoder> PREFERRED_DECODER = ThreadLocal.withInitial(() -> newDecoder(PREFERRED_CHARSET));
+
     /**
      * Converts the specified character array to a byte array using the preferred encoding (UTF-8).
      * <p/>
-     * This is a convenience method equivalent to calling the {@link #toBytes(String, String)} method with a
-     * a wrapping String and {@link CodecSupport#PREFERRED_ENCODING PREFERRED_ENCODING}, i.e.
-     * <p/>
-     * <code>toBytes( new String(chars), {@link CodecSupport#PREFERRED_ENCODING PREFERRED_ENCODING} );</code>
+     * This is a convenience method equivalent to calling the {@link #toBytes(char[], Charset)} method with
+     * {@link CodecSupport#PREFERRED_CHARSET PREFERRED_CHARSET}.
      *
      * @param chars the character array to be converted to a byte array.
      * @return the byte array of the UTF-8 encoded character array.
      */
     public static byte[] toBytes(char[] chars) {
-        return toBytes(new String(chars), PREFERRED_ENCODING);
+        return toBytes(chars, PREFERRED_CHARSET);
     }
 
     /**
      * Converts the specified character array into a byte array using the specified character encoding.
      * <p/>
-     * This is a convenience method equivalent to calling the {@link #toBytes(String, String)} method with a
-     * a wrapping String and the specified encoding, i.e.
-     * <p/>
-     * <code>toBytes( new String(chars), encoding );</code>
+     * This is a convenience method equivalent to calling the {@link #toBytes(char[], Charset)} method with the
+     * character set corresponding with the encoding name.
      *
      * @param chars    the character array to be converted to a byte array
      * @param encoding the character encoding to use to when converting to bytes.
@@ -61,7 +72,48 @@ public abstract class CodecSupport {
      * @throws CodecException if the JVM does not support the specified encoding.
      */
     public static byte[] toBytes(char[] chars, String encoding) {
-        return toBytes(new String(chars), encoding);
+        return toBytes(chars, toCharset(encoding));
+    }
+
+    /**
+     * Converts the specified character array into a byte array using the specified character set.
+     * <p/>
+     * The characters are encoded directly, without creating an intermediate {@code String}, so that no copy of
+     * sensitive data (like passwords) is left on the heap which can't be cleared. Temporary buffers are cleared
+     * before this method returns; the caller is responsible for clearing the character array and the resulting
+     * byte array (see {@link #clear(char[])} and {@link #clear(byte[])}) when they contain secrets.
+     * <p/>
+     * Malformed input and unmappable characters are replaced with the default replacement of the character set,
+     * just as {@link String#getBytes(Charset)} does.
+     *
+     * @param chars   the character array to be converted to a byte array
+     * @param charset the character set to use to when converting to bytes.
+     * @return the bytes of the specified character array under the specified character set.
+     */
+    public static byte[] toBytes(char[] chars, Charset charset) {
+        CharsetEncoder encoder = getEncoder(charset);
+        byte[] buffer = new byte[maximumLength(chars.length, encoder.maxBytesPerChar())];
+        ByteBuffer out = ByteBuffer.wrap(buffer);
+        encoder.reset();
+        try {
+            CoderResult result = encoder.encode(CharBuffer.wrap(chars), out, true);
+            if (!result.isUnderflow()) {
+                result.throwException();
+            }
+            result = encoder.flush(out);
+            if (!result.isUnderflow()) {
+                result.throwException();
+            }
+        } catch (CharacterCodingException e) {
+            clear(buffer);
+            throw new CodecException("Unable to convert character array to byte array using charset '" + charset + "'", e);
+        }
+        if (out.position() == buffer.length) {
+            return buffer;
+        }
+        byte[] result = Arrays.copyOf(buffer, out.position());
+        clear(buffer);
+        return result;
     }
 
     /**
@@ -73,7 +125,7 @@ public abstract class CodecSupport {
      * @see #toBytes(String, String)
      */
     public static byte[] toBytes(String source) {
-        return toBytes(source, PREFERRED_ENCODING);
+        return toBytes(source, PREFERRED_CHARSET);
     }
 
     /**
@@ -86,13 +138,18 @@ public abstract class CodecSupport {
      * @throws CodecException if the JVM does not support the specified encoding.
      */
     public static byte[] toBytes(String source, String encoding) {
-        try {
-            return source.getBytes(encoding);
-        } catch (UnsupportedEncodingException e) {
-            String msg = "Unable to convert source [" + source + "] to byte array using " +
-                    "encoding '" + encoding + "'";
-            throw new CodecException(msg, e);
-        }
+        return toBytes(source, toCharset(encoding));
+    }
+
+    /**
+     * Converts the specified source to a byte array via the specified character set.
+     *
+     * @param source  the source string to convert to a byte array.
+     * @param charset the character set to use.
+     * @return the byte array of the specified source with the given character set.
+     */
+    public static byte[] toBytes(String source, Charset charset) {
+        return source.getBytes(charset);
     }
 
     /**
@@ -103,13 +160,13 @@ public abstract class CodecSupport {
      * @see #toString(byte[], String)
      */
     public static String toString(byte[] bytes) {
-        return toString(bytes, PREFERRED_ENCODING);
+        return toString(bytes, PREFERRED_CHARSET);
     }
 
     /**
      * Converts the specified byte array to a String using the specified character encoding.  This implementation
      * does the same thing as <code>new {@link String#String(byte[], String) String(byte[], encoding)}</code>, but will
-     * wrap any {@link UnsupportedEncodingException} with a nicer runtime {@link CodecException}, allowing you to
+     * report an unsupported encoding with a nicer runtime {@link CodecException}, allowing you to
      * decide whether or not you want to catch the exception or let it propagate.
      *
      * @param bytes    the byte array to convert to a String
@@ -118,12 +175,18 @@ public abstract class CodecSupport {
      * @throws CodecException if the JVM does not support the specified encoding.
      */
     public static String toString(byte[] bytes, String encoding) {
-        try {
-            return new String(bytes, encoding);
-        } catch (UnsupportedEncodingException e) {
-            String msg = "Unable to convert byte array to String with encoding '" + encoding + "'.";
-            throw new CodecException(msg, e);
-        }
+        return toString(bytes, toCharset(encoding));
+    }
+
+    /**
+     * Converts the specified byte array to a String using the specified character set.
+     *
+     * @param bytes   the byte array to convert to a String
+     * @param charset the character set used to encode the String.
+     * @return the specified byte array as an encoded String
+     */
+    public static String toString(byte[] bytes, Charset charset) {
+        return new String(bytes, charset);
     }
 
     /**
@@ -135,13 +198,14 @@ public abstract class CodecSupport {
      * @see #toChars(byte[], String)
      */
     public static char[] toChars(byte[] bytes) {
-        return toChars(bytes, PREFERRED_ENCODING);
+        return toChars(bytes, PREFERRED_CHARSET);
     }
 
     /**
      * Converts the specified byte array to a character array using the specified character encoding.
      * <p/>
-     * Effectively calls <code>{@link #toString(byte[], String) toString(bytes,encoding)}.{@link String#toCharArray() toCharArray()};</code>
+     * Effectively calls <code>{@link #toChars(byte[], Charset) toChars(bytes,charset)}</code> with the character set
+     * corresponding with the encoding name.
      *
      * @param bytes    the byte array to convert to a String
      * @param encoding the character encoding used to encode the bytes.
@@ -149,7 +213,117 @@ public abstract class CodecSupport {
      * @throws CodecException if the JVM does not support the specified encoding.
      */
     public static char[] toChars(byte[] bytes, String encoding) {
-        return toString(bytes, encoding).toCharArray();
+        return toChars(bytes, toCharset(encoding));
+    }
+
+    /**
+     * Converts the specified byte array to a character array using the specified character set.
+     * <p/>
+     * The bytes are decoded directly, without creating an intermediate {@code String}, and temporary buffers are
+     * cleared before this method returns. Malformed input is replaced with the default replacement of the
+     * character set, just as {@link String#String(byte[], Charset)} does.
+     *
+     * @param bytes   the byte array to convert to a char array
+     * @param charset the character set used to encode the bytes.
+     * @return the specified byte array as an encoded char array
+     */
+    public static char[] toChars(byte[] bytes, Charset charset) {
+        CharsetDecoder decoder = getDecoder(charset);
+        char[] buffer = new char[maximumLength(bytes.length, decoder.maxCharsPerByte())];
+        CharBuffer out = CharBuffer.wrap(buffer);
+        decoder.reset();
+        try {
+            CoderResult result = decoder.decode(ByteBuffer.wrap(bytes), out, true);
+            if (!result.isUnderflow()) {
+                result.throwException();
+            }
+            result = decoder.flush(out);
+            if (!result.isUnderflow()) {
+                result.throwException();
+            }
+        } catch (CharacterCodingException e) {
+            clear(buffer);
+            throw new CodecException("Unable to convert byte array to character array using charset '" + charset + "'", e);
+        }
+        if (out.position() == buffer.length) {
+            return buffer;
+        }
+        char[] result = Arrays.copyOf(buffer, out.position());
+        clear(buffer);
+        return result;
+    }
+
+    /**
+     * Overwrites the contents of the byte array with zeros. Use it to remove secrets from memory as soon as they are
+     * no longer needed. A {@code null} value is ignored.
+     *
+     * @param bytes the byte array to clear.
+     */
+    public static void clear(byte[] bytes) {
+        if (bytes != null) {
+            Arrays.fill(bytes, (byte) 0);
+        }
+    }
+
+    /**
+     * Overwrites the contents of the character array with zeros. Use it to remove secrets (like passwords) from
+     * memory as soon as they are no longer needed. A {@code null} value is ignored.
+     *
+     * @param chars the character array to clear.
+     */
+    public static void clear(char[] chars) {
+        if (chars != null) {
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    /**
+     * Returns the character set for the encoding name without a lookup for the preferred encoding.
+     *
+     * @param encoding the name of the character encoding.
+     * @return the corresponding character set.
+     * @throws CodecException if the JVM does not support the specified encoding.
+     */
+    private static Charset toCharset(String encoding) {
+        if (PREFERRED_ENCODING.equalsIgnoreCase(encoding)) {
+            return PREFERRED_CHARSET;
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            // IllegalCharsetNameException and UnsupportedCharsetException are both IllegalArgumentExceptions
+            throw new CodecException("Unsupported encoding '" + encoding + "'", e);
+        }
+    }
+
+    private static CharsetEncoder getEncoder(Charset charset) {
+        if (PREFERRED_CHARSET.equals(charset)) {
+            return PREFERRED_ENCODER.get();
+        }
+        return newEncoder(charset);
+    }
+
+    private static CharsetDecoder getDecoder(Charset charset) {
+        if (PREFERRED_CHARSET.equals(charset)) {
+            return PREFERRED_DECODER.get();
+        }
+        return newDecoder(charset);
+    }
+
+    private static CharsetEncoder newEncoder(Charset charset) {
+        return charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private static CharsetDecoder newDecoder(Charset charset) {
+        return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private static int maximumLength(int length, float maximumPerItem) {
+        return (int) Math.min((long) Math.ceil(length * (double) maximumPerItem), Integer.MAX_VALUE - 8);
     }
 
     /**
@@ -15,15 +15,36 @@
  */
 package be.atbash.util.codec;
 
+import be.atbash.util.ordered.Order;
+
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
 
 /**
- *
+ * Creates {@link ByteSource} instances for the commonly used byte-backed data types. It is the creator with the
+ * lowest priority within the {@link ByteSourceCreatorRegistry}.
  */
-
+@Order(Long.MAX_VALUE)
 public class DefaultByteSourceCreator implements ByteSourceCreator {
 
+    /**
+     * The conversion for each class, determined only once for each class (instead of a chain of instanceof checks
+     * for each call). null when the type is not supported.
+     */
+    private static final ClassValue<Function<Object, ByteSource>> CONVERSIONS = new ClassValue<Function<Object, ByteSource>>() {
+        @Override
+        protected Function<Object, ByteSource> computeValue(Class<?> type) {
+            return defineConversion(type);
+        }
+    };
+
     /**
      * Returns {@code true} if the specified object is a recognized data type that can be easily converted to
      * bytes by instances of this class, {@code false} otherwise.
@@ -36,7 +57,10 @@ public class DefaultByteSourceCreator implements ByteSourceCreator {
      * <li>{@link ByteSource}</li>
      * <li>{@link String}</li>
      * <li>{@link File}</li>
-     * </li>{@link InputStream}</li>
+     * <li>{@link InputStream}</li>
+     * <li>{@link ByteBuffer}</li>
+     * <li>{@link Path}</li>
+     * <li>{@link ReadableByteChannel}</li>
      * </ul>
      *
      * @param source the object to test to see if it can be easily converted to bytes by instances of this class.
@@ -44,8 +68,7 @@ public class DefaultByteSourceCreator implements ByteSourceCreator {
      * {@code false} otherwise.
      */
     public boolean isCompatible(Object source) {
-        return source instanceof byte[] || source instanceof char[] || source instanceof String ||
-                source instanceof ByteSource || source instanceof File || source instanceof InputStream;
+        return source != null && CONVERSIONS.get(source.getClass()) != null;
     }
 
     @Override
@@ -53,30 +76,68 @@ public class DefaultByteSourceCreator implements ByteSourceCreator {
         if (source == null) {
             return null;
         }
-        if (!isCompatible(source)) {
+        Function<Object, ByteSource> conversion = CONVERSIONS.get(source.getClass());
+        if (conversion == null) {
             String msg = String.format("Unable to heuristically acquire bytes for object of type [%s]." +
                             " If this type is indeed a byte-backed data type, you might " +
                             "want to write your own ByteSourceCreator implementation to extract its bytes explicitly."
                     , source.getClass().getName());
             throw new CodecException(msg);
         }
-        if (source instanceof byte[]) {
-            return new DefaultByteSource((byte[]) source);
-        } else if (source instanceof ByteSource) {
-            return (ByteSource) source;
-        } else if (source instanceof char[]) {
-            return new DefaultByteSource((char[]) source);
-        } else if (source instanceof String) {
-            return new DefaultByteSource((String) source);
-        } else if (source instanceof File) {
-            return new DefaultByteSource((File) source);
-        } else if (source instanceof InputStream) {
-            return new DefaultByteSource((InputStream) source);
-        } else {
-            throw new IllegalStateException("Encountered unexpected byte source.  This is a bug - " +
-                    "(the isCompatible implementation does not reflect this method's implementation).");
+        return conversion.apply(source);
+    }
+
+    private static Function<Object, ByteSource> defineConversion(Class<?> type) {
+        if (type == byte[].class) {
+            return source -> new DefaultByteSource((byte[]) source);
+        }
+        if (type == char[].class) {
+            return source -> new DefaultByteSource((char[]) source);
+        }
+        if (type == String.class) {
+            return source -> new DefaultByteSource((String) source);
+        }
+        if (ByteSource.class.isAssignableFrom(type)) {
+            return source -> (ByteSource) source;
         }
+        if (File.class.isAssignableFrom(type)) {
+            return source -> new DefaultByteSource((File) source);
+        }
+        if (InputStream.class.isAssignableFrom(type)) {
+            return source -> new DefaultByteSource((InputStream) source);
+        }
+        if (ByteBuffer.class.isAssignableFrom(type)) {
+            return source -> new DefaultByteSource(toBytes((ByteBuffer) source));
+        }
+        if (Path.class.isAssignableFrom(type)) {
+            return source -> new DefaultByteSource(toBytes((Path) source));
+        }
+        if (ReadableByteChannel.class.isAssignableFrom(type)) {
+            return source -> new DefaultByteSource(Channels.newInputStream((ReadableByteChannel) source));
+        }
+        return null;
+    }
 
+    /**
+     * Returns the remaining bytes of the buffer, without changing its position. The backing array is used
+     * without copying when it contains exactly the remaining bytes.
+     */
+    private static byte[] toBytes(ByteBuffer buffer) {
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+        byte[] result = new byte[buffer.remaining()];
+        buffer.duplicate().get(result);
+        return result;
+    }
+
+    private static byte[] toBytes(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new CodecException("Unable to read bytes from file [" + path + "]", e);
+        }
     }
 
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.codec;
+
+import be.atbash.util.PublicAPI;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes message digests and HMACs over the content of a {@link ByteSource}, a file or an {@link InputStream}
+ * without first materializing the content as a byte array. Files and streams are processed in chunks, large files
+ * are memory mapped.
+ * <p/>
+ * The {@link MessageDigest} instances are reused per thread and algorithm as they are expensive to create and not thread
+ * safe. {@link Mac} instances are not reused, since an initialized Mac keeps (material derived from) the secret key. A
+ * pooled instance would keep the last key of each thread in memory for the lifetime of the thread.
+ */
+@PublicAPI
+public final class DigestSupport {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+    private static final int DIRECT_CHUNK_SIZE = 64 * 1024;
+    private static final long MAPPING_THRESHOLD = 1024 * 1024;
+    private static final long MAPPING_SIZE = 64L * 1024 * 1024;
+
+    private static final ThreadLocal<Map<String, MessageDigest>> DIGESTS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<ByteBuffer> DIRECT_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(DIRECT_CHUNK_SIZE));
+
+    private DigestSupport() {
+    }
+
+    /**
+     * Computes the digest of the bytes of the {@link ByteSource}.
+     *
+     * @param algorithm the name of the digest algorithm, like SHA-256.
+     * @param source    the bytes to digest.
+     * @return the digest value.
+     * @throws CodecException when the algorithm is not supported.
+     */
+    public static ByteSource digest(String algorithm, ByteSource source) {
+        MessageDigest digest = getDigest(algorithm);
+        update(source, digest::update, digest::update);
+        return new DefaultByteSource(digest.digest());
+    }
+
+    /**
+     * Computes the digest of the content of the file.
+     *
+     * @param algorithm the name of the digest algorithm, like SHA-256.
+     * @param file      the file to digest.
+     * @return the digest value.
+     * @throws CodecException when the algorithm is not supported or the file cannot be read.
+     */
+    public static ByteSource digest(String algorithm, Path file) {
+        MessageDigest digest = getDigest(algorithm);
+        update(file, digest::update);
+        return new DefaultByteSource(digest.digest());
+    }
+
+    /**
+     * Computes the digest of the content of the file.
+     *
+     * @param algorithm the name of the digest algorithm, like SHA-256.
+     * @param file      the file to digest.
+     * @return the digest value.
+     * @throws CodecException when the algorithm is not supported or the file cannot be read.
+     */
+    public static ByteSource digest(String algorithm, File file) {
+        return digest(algorithm, file.toPath());
+    }
+
+    /**
+     * Computes the digest of the remaining content of the stream. The stream is not closed.
+     *
+     * @param algorithm the name of the digest algorithm, like SHA-256.
+     * @param stream    the content to digest.
+     * @return the digest value.
+     * @throws CodecException when the algorithm is not supported or the stream cannot be read.
+     */
+    public static ByteSource digest(String algorithm, InputStream stream) {
+        MessageDigest digest = getDigest(algorithm);
+        update(stream, digest::update);
+        return new DefaultByteSource(digest.digest());
+    }
+
+    /**
+     * Computes the HMAC of the bytes of the {@link ByteSource}.
+     *
+     * @param algorithm the name of the MAC algorithm, like HmacSHA256.
+     * @param key       the secret key.
+     * @param source    the bytes to authenticate.
+     * @return the HMAC value.
+     * @throws CodecException when the algorithm is not supported or the key is not valid for the algorithm.
+     */
+    public static ByteSource hmac(String algorithm, byte[] key, ByteSource source) {
+        Mac mac = getMac(algorithm, key);
+        update(source, mac::update, mac::update);
+        return new DefaultByteSource(mac.doFinal());
+    }
+
+    /**
+     * Computes the HMAC of the content of the file.
+     *
+     * @param algorithm the name of the MAC algorithm, like HmacSHA256.
+     * @param key       the secret key.
+     * @param file      the file to authenticate.
+     * @return the HMAC value.
+     * @throws CodecException when the algorithm is not supported, the key is not valid or the file cannot be read.
+     */
+    public static ByteSource hmac(String algorithm, byte[] key, Path file) {
+        Mac mac = getMac(algorithm, key);
+        update(file, mac::update);
+        return new DefaultByteSource(mac.doFinal());
+    }
+
+    /**
+     * Computes the HMAC of the remaining content of the stream. The stream is not closed.
+     *
+     * @param algorithm the name of the MAC algorithm, like HmacSHA256.
+     * @param key       the secret key.
+     * @param stream    the content to authenticate.
+     * @return the HMAC value.
+     * @throws CodecException when the algorithm is not supported, the key is not valid or the stream cannot be read.
+     */
+    public static ByteSource hmac(String algorithm, byte[] key, InputStream stream) {
+        Mac mac = getMac(algorithm, key);
+        update(stream, mac::update);
+        return new DefaultByteSource(mac.doFinal());
+    }
+
+    private static MessageDigest getDigest(String algorithm) {
+        Map<String, MessageDigest> digests = DIGESTS.get();
+        MessageDigest result = digests.get(algorithm);
+        if (result == null) {
+            try {
+                result = MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new CodecException(e);
+            }
+            digests.put(algorithm, result);
+        } else {
+            // A previous computation could have been interrupted by an exception.
+            result.reset();
+        }
+        return result;
+    }
+
+    private static Mac getMac(String algorithm, byte[] key) {
+        if (key == null || key.length == 0) {
+            throw new CodecException("The key for the HMAC computation can't be empty");
+        }
+        try {
+            // A new instance for each computation, so that the key isn't kept after the computation (see class javadoc).
+            Mac result = Mac.getInstance(algorithm);
+            result.init(new SecretKeySpec(key, algorithm));
+            return result;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new CodecException(e);
+        }
+    }
+
+    private static void update(ByteSource source, ArrayConsumer arrayConsumer, BufferConsumer bufferConsumer) {
+        if (source instanceof SecureByteSource) {
+            // Feed the off-heap bytes directly, without a copy on the heap.
+            bufferConsumer.accept(((SecureByteSource) source).buffer());
+        } else {
+            byte[] bytes = source.getBytes();
+            if (bytes != null) {
+                arrayConsumer.accept(bytes, 0, bytes.length);
+            }
+        }
+    }
+
+    private static void update(Path file, BufferConsumer consumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAPPING_THRESHOLD) {
+                long position = 0;
+                while (position < size) {
+                    long length = Math.min(MAPPING_SIZE, size - position);
+                    consumer.accept(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+                    position += length;
+                }
+            } else {
+                ByteBuffer buffer = DIRECT_BUFFER.get();
+                buffer.clear();
+                while (channel.read(buffer) != -1) {
+                    buffer.flip();
+                    consumer.accept(buffer);
+                    buffer.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new CodecException("Unable to read bytes from file [" + file + "]", e);
+        }
+    }
+
+    private static void update(InputStream stream, ArrayConsumer consumer) {
+        byte[] buffer = new byte[CHUNK_SIZE];
+        try {
+            int bytesRead;
+            while ((bytesRead = stream.read(buffer)) != -1) {
+                consumer.accept(buffer, 0, bytesRead);
+            }
+        } catch (IOException e) {
+            throw new CodecException(e);
+        }
+    }
+
+    private interface ArrayConsumer {
+        void accept(byte[] data, int offset, int length);
+    }
+
+    private interface BufferConsumer {
+        void accept(ByteBuffer data);
+    }
+}
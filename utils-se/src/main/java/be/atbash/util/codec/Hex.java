@@ -33,14 +33,6 @@ import be.atbash.util.PublicAPI;
 @PublicAPI
 public final class Hex {
 
-    /**
-     * Used to build output as Hex
-     */
-    private static final char[] DIGITS = {
-            '0', '1', '2', '3', '4', '5', '6', '7',
-            '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
-    };
-
     private Hex() {
     }
 
@@ -56,6 +48,23 @@ public final class Hex {
         return new String(encodedChars);
     }
 
+    /**
+     * Encodes the specified part of the byte array to a Hex String.
+     *
+     * @param bytes  the byte array containing the bytes to Hex-encode.
+     * @param offset the index of the first byte to encode.
+     * @param length the number of bytes to encode.
+     * @return A String representation of the resultant hex-encoded bytes.
+     */
+    public static String encodeToString(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > bytes.length - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length " + bytes.length);
+        }
+        char[] out = new char[length << 1];
+        BulkEncoder.encodeHex(bytes, offset, length, out, 0);
+        return new String(out);
+    }
+
     /**
      * Converts an array of bytes into an array of characters representing the hexidecimal values of each byte in order.
      * The returned array will be double the length of the passed array, as it takes two characters to represent any
@@ -70,12 +79,8 @@ public final class Hex {
 
         char[] out = new char[l << 1];
 
-        // two characters form the hex value.
-        int j = 0;
-        for (int i = 0; i < l; i++) {
-            out[j++] = DIGITS[(0xF0 & data[i]) >>> 4];
-            out[j++] = DIGITS[0x0F & data[i]];
-        }
+        // two characters form the hex value, calculated for 8 bytes at once.
+        BulkEncoder.encodeHex(data, 0, l, out, 0);
 
         return out;
     }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.codec;
+
+import be.atbash.util.PublicAPI;
+import be.atbash.util.exception.AtbashIllegalActionException;
+
+import javax.security.auth.Destroyable;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * {@link ByteSource ByteSource} implementation intended for secrets like keys and passwords. The bytes are kept
+ * outside the Java heap in a direct {@link ByteBuffer} and can be wiped with {@link #destroy()} (or by using the
+ * instance in a try-with-resources block).
+ * <p/>
+ * Compared to {@link DefaultByteSource}, the following differences exist
+ * <ul>
+ * <li>{@link #getBytes()} returns a copy of the bytes which should be cleared by the caller when no longer needed
+ * (see {@link CodecSupport#clear(byte[])}).</li>
+ * <li>The Hex, Base64 and Base32 representations are only cached when requested at construction time since these
+ * Strings can't be cleared from memory.</li>
+ * <li>{@link #equals(Object)} compares in constant time.</li>
+ * <li>{@link #toString()} does not reveal the contents.</li>
+ * </ul>
+ * Any access to the bytes after the instance is destroyed results in an {@link AtbashIllegalActionException}.
+ */
+@PublicAPI
+public class SecureByteSource implements ByteSource, Destroyable, AutoCloseable {
+
+    private final ByteBuffer buffer;
+    private final boolean cacheEncodings;
+    private volatile boolean destroyed;
+
+    private String cachedHex;
+    private String cachedBase64;
+    private String cachedBase32;
+
+    /**
+     * Creates an instance by copying the bytes. The encoded representations are not cached.
+     * The caller is responsible for clearing the original array when required.
+     *
+     * @param bytes the source bytes.
+     */
+    public SecureByteSource(byte[] bytes) {
+        this(bytes, false);
+    }
+
+    /**
+     * Creates an instance by copying the bytes. The caller is responsible for clearing the original array when required.
+     *
+     * @param bytes          the source bytes.
+     * @param cacheEncodings Are the Hex, Base64 and Base32 representations cached.
+     */
+    public SecureByteSource(byte[] bytes, boolean cacheEncodings) {
+        buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.clear();
+        this.cacheEncodings = cacheEncodings;
+    }
+
+    /**
+     * Creates an instance by converting the characters to a byte array (assumes UTF-8 encoding). The encoded
+     * representations are not cached. The caller is responsible for clearing the character array when required.
+     *
+     * @param chars the source characters to use to create the underlying bytes.
+     */
+    public SecureByteSource(char[] chars) {
+        this(chars, false);
+    }
+
+    /**
+     * Creates an instance by converting the characters to a byte array (assumes UTF-8 encoding). The caller is
+     * responsible for clearing the character array when required.
+     *
+     * @param chars          the source characters to use to create the underlying bytes.
+     * @param cacheEncodings Are the Hex, Base64 and Base32 representations cached.
+     */
+    public SecureByteSource(char[] chars, boolean cacheEncodings) {
+        byte[] bytes = CodecSupport.toBytes(chars);
+        try {
+            buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes);
+            buffer.clear();
+        } finally {
+            CodecSupport.clear(bytes);
+        }
+        this.cacheEncodings = cacheEncodings;
+    }
+
+    /**
+     * Returns a copy of the bytes. Clear the array when no longer needed.
+     *
+     * @return a copy of the bytes.
+     */
+    @Override
+    public byte[] getBytes() {
+        ByteBuffer source = buffer();
+        byte[] result = new byte[source.remaining()];
+        source.get(result);
+        return result;
+    }
+
+    /**
+     * Returns the number of bytes.
+     *
+     * @return the number of bytes.
+     */
+    public int length() {
+        checkNotDestroyed();
+        return buffer.capacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length() == 0;
+    }
+
+    @Override
+    public String toHex() {
+        String result = cachedHex;
+        if (result == null) {
+            byte[] bytes = getBytes();
+            result = Hex.encodeToString(bytes);
+            CodecSupport.clear(bytes);
+            if (cacheEncodings) {
+                cachedHex = result;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toBase64() {
+        String result = cachedBase64;
+        if (result == null) {
+            byte[] bytes = getBytes();
+            result = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+            CodecSupport.clear(bytes);
+            if (cacheEncodings) {
+                cachedBase64 = result;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toBase32() {
+        String result = cachedBase32;
+        if (result == null) {
+            byte[] bytes = getBytes();
+            result = Base32Codec.encodeToString(bytes);
+            CodecSupport.clear(bytes);
+            if (cacheEncodings) {
+                cachedBase32 = result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Overwrites the bytes with zeros and removes the cached representations. Afterwards, the instance can't be
+     * used anymore.
+     */
+    @Override
+    public synchronized void destroy() {
+        if (destroyed) {
+            return;
+        }
+        destroyed = true;
+        for (int i = 0; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        cachedHex = null;
+        cachedBase64 = null;
+        cachedBase32 = null;
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Destroys the instance, see {@link #destroy()}.
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * Read-only view on the bytes, positioned at the start.
+     *
+     * @return read-only view on the bytes.
+     */
+    ByteBuffer buffer() {
+        checkNotDestroyed();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private void checkNotDestroyed() {
+        if (destroyed) {
+            throw new AtbashIllegalActionException("The SecureByteSource is already destroyed");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return destroyed ? "SecureByteSource[destroyed]" : "SecureByteSource[length=" + buffer.capacity() + "]";
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as DefaultByteSource so that both can be equal.
+        ByteBuffer source = buffer();
+        if (!source.hasRemaining()) {
+            return 0;
+        }
+        int result = 1;
+        while (source.hasRemaining()) {
+            result = 31 * result + source.get();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof ByteSource)) {
+            return false;
+        }
+        ByteSource bs = (ByteSource) o;
+        if (bs instanceof SecureByteSource) {
+            return constantTimeEquals(buffer(), ((SecureByteSource) bs).buffer());
+        }
+        byte[] other = bs.getBytes();
+        if (other == null) {
+            return false;
+        }
+        return constantTimeEquals(buffer(), ByteBuffer.wrap(other));
+    }
+
+    private static boolean constantTimeEquals(ByteBuffer first, ByteBuffer second) {
+        if (first.remaining() != second.remaining()) {
+            return false;
+        }
+        int result = 0;
+        while (first.hasRemaining()) {
+            result |= first.get() ^ second.get();
+        }
+        return result == 0;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.collection;
+
+import be.atbash.util.PublicAPI;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * List of int values without boxing, backed by a growing array. Not thread safe.
+ */
+@PublicAPI
+public final class IntList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the initial capacity.
+     */
+    public IntList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(String.format("Capacity can't be negative: %s", capacity));
+        }
+        values = new int[capacity];
+    }
+
+    /**
+     * Adds the value at the end of the list.
+     *
+     * @param value the value to add.
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, size + (size >> 1)));
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * @param index the position in the list.
+     * @return the value at the position.
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * @param index the position in the list.
+     * @param value the new value at the position.
+     * @return the previous value at the position.
+     */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    /**
+     * @param value the value to search.
+     * @return the first position of the value or -1 when the list doesn't contain the value.
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values, the capacity is kept.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * @return the values as an array of exactly the size of this list.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %s, size %s", index, size));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntList)) {
+            return false;
+        }
+        IntList other = (IntList) o;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (values[i] != other.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + values[i];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
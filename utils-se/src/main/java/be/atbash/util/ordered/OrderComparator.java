@@ -17,25 +17,64 @@ package be.atbash.util.ordered;
 
 import be.atbash.util.AnnotationUtil;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
 
+/**
+ * Compares instances based on the value of the {@link Order} annotation on their class. A
+ * {@link MissingOrderException} is thrown when the annotation is missing.
+ */
 public class OrderComparator implements Comparator<Object> {
 
     @Override
     public int compare(Object o1, Object o2) {
-        Order annotation1 = AnnotationUtil.getAnnotation(o1.getClass(), Order.class);
-        Order annotation2 = AnnotationUtil.getAnnotation(o2.getClass(), Order.class);
+        return Long.compare(getOrder(o1), getOrder(o2));
+    }
 
-        if (annotation1 == null) {
-            throw new MissingOrderException(o1.getClass());
+    /**
+     * Sorts the list according to the {@link Order} annotation of the elements. The order of each element is only
+     * determined once, and the sort is stable (elements with the same order keep their relative position).
+     *
+     * @param list the list to sort.
+     * @param <T>  the type of the elements.
+     * @throws MissingOrderException when an element has no {@link Order} annotation.
+     */
+    public static <T> void sort(List<T> list) {
+        List<OrderedElement<T>> elements = new ArrayList<>(list.size());
+        for (T item : list) {
+            elements.add(new OrderedElement<>(item, getOrder(item)));
+        }
+        Collections.sort(elements);
+        ListIterator<T> iterator = list.listIterator();
+        for (OrderedElement<T> element : elements) {
+            iterator.next();
+            iterator.set(element.item);
         }
-        Long order1 = annotation1.value();
+    }
 
-        if (annotation2 == null) {
-            throw new MissingOrderException(o2.getClass());
+    private static long getOrder(Object item) {
+        Order annotation = AnnotationUtil.getAnnotation(item.getClass(), Order.class);
+        if (annotation == null) {
+            throw new MissingOrderException(item.getClass());
         }
-        Long order2 = annotation2.value();
+        return annotation.value();
+    }
 
-        return order1.compareTo(order2);
+    private static final class OrderedElement<T> implements Comparable<OrderedElement<T>> {
+        private final T item;
+        private final long order;
+
+        private OrderedElement(T item, long order) {
+            this.item = item;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(OrderedElement<T> other) {
+            return Long.compare(order, other.order);
+        }
     }
 }
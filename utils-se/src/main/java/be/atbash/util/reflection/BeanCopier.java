@@ -0,0 +1,204 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import be.atbash.util.CollectionUtils;
+import be.atbash.util.PublicAPI;
+import be.atbash.util.exception.AtbashUnexpectedException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Copies all properties with the same name from an instance of the source class to an instance of the target class.
+ * The properties are determined by the {@link BeanIntrospector}, only properties of the target that can be written
+ * are copied. When the types of the properties are not compatible, the value is converted by the converter from the
+ * {@link ValueConverterRegistry}. A null value is not copied to a property of a primitive type.
+ * <p/>
+ * The copy of all properties is performed by a single {@link MethodHandle} that combines the getters and setters of
+ * all properties, so that no lookup or dispatch per property is needed at runtime. A copier is thread safe and is
+ * only created once for each combination of source and target class.
+ *
+ * @param <S> the source type.
+ * @param <T> the target type.
+ */
+@PublicAPI
+public final class BeanCopier<S, T> {
+
+    private static final MethodType COPY_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodHandle IS_NULL;
+    private static final MethodHandle CONVERT;
+    private static final MethodHandle NO_OPERATION;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            IS_NULL = lookup.findStatic(Objects.class, "isNull", MethodType.methodType(boolean.class, Object.class));
+            CONVERT = lookup.findVirtual(ValueConverter.class, "convert", MethodType.methodType(Object.class, Object.class));
+            NO_OPERATION = lookup.findStatic(BeanCopier.class, "noOperation", COPY_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new AtbashUnexpectedException(e);
+        }
+    }
+
+    private static final ClassValue<ConcurrentMap<Class<?>, BeanCopier<?, ?>>> COPIERS = new ClassValue<ConcurrentMap<Class<?>, BeanCopier<?, ?>>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, BeanCopier<?, ?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // Primitive widening conversions, which are performed by MethodHandle.asType() without boxing.
+    private static final Map<Class<?>, Set<Class<?>>> WIDENING;
+
+    static {
+        Map<Class<?>, Set<Class<?>>> widening = new HashMap<>();
+        widening.put(byte.class, CollectionUtils.immutableSet(short.class, int.class, long.class, float.class, double.class));
+        widening.put(short.class, CollectionUtils.immutableSet(int.class, long.class, float.class, double.class));
+        widening.put(char.class, CollectionUtils.immutableSet(int.class, long.class, float.class, double.class));
+        widening.put(int.class, CollectionUtils.immutableSet(long.class, float.class, double.class));
+        widening.put(long.class, CollectionUtils.immutableSet(float.class, double.class));
+        widening.put(float.class, CollectionUtils.immutableSet(double.class));
+        WIDENING = CollectionUtils.immutableMap(widening);
+    }
+
+    private final Class<S> sourceClass;
+    private final Class<T> targetClass;
+    private final List<String> propertyNames;
+    private final MethodHandle copyHandle;
+
+    private BeanCopier(Class<S> sourceClass, Class<T> targetClass) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+
+        BeanModel sourceModel = BeanIntrospector.getModel(sourceClass);
+        BeanModel targetModel = BeanIntrospector.getModel(targetClass);
+
+        List<String> names = new ArrayList<>();
+        List<MethodHandle> handles = new ArrayList<>();
+        for (int i = 0; i < targetModel.size(); i++) {
+            FastPropertyMemberAccessor targetAccessor = targetModel.getAccessor(i);
+            FastPropertyMemberAccessor sourceAccessor = sourceModel.getAccessor(targetAccessor.getName());
+            if (sourceAccessor != null && targetAccessor.supportSet()) {
+                names.add(targetAccessor.getName());
+                handles.add(createPropertyCopy(sourceAccessor, targetAccessor));
+            }
+        }
+        propertyNames = Collections.unmodifiableList(names);
+        copyHandle = combine(handles);
+    }
+
+    /**
+     * Returns the copier for the source and target class.
+     *
+     * @param sourceClass the class of the instances to copy from.
+     * @param targetClass the class of the instances to copy to.
+     * @param <S>         the source type.
+     * @param <T>         the target type.
+     * @return the copier.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> BeanCopier<S, T> create(Class<S> sourceClass, Class<T> targetClass) {
+        ConcurrentMap<Class<?>, BeanCopier<?, ?>> copiers = COPIERS.get(sourceClass);
+        BeanCopier<?, ?> result = copiers.get(targetClass);
+        if (result == null) {
+            result = copiers.computeIfAbsent(targetClass, type -> new BeanCopier<>(sourceClass, type));
+        }
+        return (BeanCopier<S, T>) result;
+    }
+
+    /**
+     * Copies the properties from the source to the target.
+     *
+     * @param source the instance to copy from.
+     * @param target the instance to copy to.
+     */
+    public void copy(S source, T target) {
+        try {
+            copyHandle.invokeExact((Object) source, (Object) target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AtbashUnexpectedException(e);
+        }
+    }
+
+    /**
+     * Returns the names of the properties which are copied.
+     *
+     * @return the names of the copied properties.
+     */
+    public List<String> getPropertyNames() {
+        return propertyNames;
+    }
+
+    /**
+     * Creates the handle of type (Object source, Object target)void copying a single property.
+     */
+    private static MethodHandle createPropertyCopy(FastPropertyMemberAccessor sourceAccessor, FastPropertyMemberAccessor targetAccessor) {
+        Class<?> sourceType = sourceAccessor.getType();
+        Class<?> targetType = targetAccessor.getType();
+        MethodHandle getter = sourceAccessor.getterHandle();
+        MethodHandle setter = targetAccessor.setterHandle();
+
+        MethodHandle result;  // (Object target, Object source)void
+        if (targetType.isAssignableFrom(sourceType) || isWidening(sourceType, targetType)) {
+            // Types are compatible, no boxing and conversion needed.
+            result = MethodHandles.filterArguments(setter, 1, getter.asType(MethodType.methodType(targetType, Object.class)));
+        } else {
+            MethodHandle converter = CONVERT.bindTo(targetAccessor.getValueConverter());
+            MethodHandle convertingSetter = MethodHandles.filterArguments(setter.asType(COPY_TYPE), 1, converter);
+            if (targetType.isPrimitive()) {
+                // Skip null values as they can't be assigned to a primitive.
+                MethodHandle test = MethodHandles.dropArguments(IS_NULL, 0, Object.class);
+                convertingSetter = MethodHandles.guardWithTest(test, NO_OPERATION, convertingSetter);
+            }
+            result = MethodHandles.filterArguments(convertingSetter, 1, getter.asType(MethodType.methodType(Object.class, Object.class)));
+        }
+        return MethodHandles.permuteArguments(result.asType(COPY_TYPE), COPY_TYPE, 1, 0);
+    }
+
+    private static boolean isWidening(Class<?> sourceType, Class<?> targetType) {
+        Set<Class<?>> widening = WIDENING.get(sourceType);
+        return widening != null && widening.contains(targetType);
+    }
+
+    /**
+     * Combines the handles into one handle which calls them in order.
+     */
+    private static MethodHandle combine(List<MethodHandle> handles) {
+        MethodHandle result = NO_OPERATION;
+        for (int i = handles.size() - 1; i >= 0; i--) {
+            result = MethodHandles.foldArguments(result, handles.get(i));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unused")
+    private static void noOperation(Object first, Object second) {
+        // Used as MethodHandle
+    }
+
+    @Override
+    public String toString() {
+        return "Bean copier from " + sourceClass + " to " + targetClass + " for properties " + propertyNames;
+    }
+}
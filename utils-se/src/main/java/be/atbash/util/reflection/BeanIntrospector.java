@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import be.atbash.util.PublicAPI;
+import be.atbash.util.exception.FieldNotFoundException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Determines all properties of a class and creates a {@link BeanModel} with a {@link FastPropertyMemberAccessor} for
+ * each of them. A property is defined by
+ * <ul>
+ * <li>a public getter method (getXxx() or isXxx() for a boolean)</li>
+ * <li>a component of a Java Record</li>
+ * <li>a public field</li>
+ * </ul>
+ * A property with only a setter method is not included, as the accessor needs a getter or a field to read the value.
+ * Properties for which no accessor can be created (like a getter which doesn't follow the naming convention) are
+ * skipped. The class is only scanned once, the {@link BeanModel} is kept for subsequent calls.
+ */
+@PublicAPI
+public final class BeanIntrospector {
+
+    private static final String PROPERTY_ACCESSOR_PREFIX_GET = "get";
+    private static final String PROPERTY_ACCESSOR_PREFIX_IS = "is";
+
+    private static final ClassValue<BeanModel> MODELS = new ClassValue<BeanModel>() {
+        @Override
+        protected BeanModel computeValue(Class<?> type) {
+            return createModel(type);
+        }
+    };
+
+    private BeanIntrospector() {
+    }
+
+    /**
+     * Returns the model with all properties of the class.
+     *
+     * @param beanClass the class to introspect.
+     * @return the model with the accessors for all properties.
+     */
+    public static BeanModel getModel(Class<?> beanClass) {
+        return MODELS.get(beanClass);
+    }
+
+    private static BeanModel createModel(Class<?> beanClass) {
+        Set<String> propertyNames = new TreeSet<>();
+        addRecordComponents(beanClass, propertyNames);
+        addGetters(beanClass, propertyNames);
+        addPublicFields(beanClass, propertyNames);
+
+        List<FastPropertyMemberAccessor> accessors = new ArrayList<>(propertyNames.size());
+        for (String propertyName : propertyNames) {
+            try {
+                accessors.add(FastPropertyMemberAccessor.of(beanClass, propertyName));
+            } catch (FieldNotFoundException e) {
+                // Not accessible, the property isn't part of the model.
+            }
+        }
+        return new BeanModel(beanClass, accessors.toArray(new FastPropertyMemberAccessor[0]));
+    }
+
+    private static void addGetters(Class<?> beanClass, Set<String> propertyNames) {
+        for (Method method : beanClass.getMethods()) {
+            if (isGetterCandidate(method)) {
+                String name = method.getName();
+                if (name.startsWith(PROPERTY_ACCESSOR_PREFIX_GET) && name.length() > PROPERTY_ACCESSOR_PREFIX_GET.length()) {
+                    addGetterProperty(beanClass, toPropertyName(name, PROPERTY_ACCESSOR_PREFIX_GET.length()), propertyNames);
+                }
+                if (name.startsWith(PROPERTY_ACCESSOR_PREFIX_IS) && name.length() > PROPERTY_ACCESSOR_PREFIX_IS.length()
+                        && method.getReturnType() == boolean.class) {
+                    addGetterProperty(beanClass, toPropertyName(name, PROPERTY_ACCESSOR_PREFIX_IS.length()), propertyNames);
+                }
+            }
+        }
+    }
+
+    private static void addGetterProperty(Class<?> beanClass, String propertyName, Set<String> propertyNames) {
+        // Only the names for which the accessor finds the getter, like getfoo() doesn't define the property foo.
+        if (ReflectionUtils.getGetterMethod(beanClass, propertyName) != null) {
+            propertyNames.add(propertyName);
+        }
+    }
+
+    private static boolean isGetterCandidate(Method method) {
+        return method.getDeclaringClass() != Object.class
+                && !Modifier.isStatic(method.getModifiers())
+                && !method.isBridge() && !method.isSynthetic()
+                && method.getParameterCount() == 0
+                && method.getReturnType() != void.class;
+    }
+
+    private static String toPropertyName(String methodName, int prefixLength) {
+        return Character.toLowerCase(methodName.charAt(prefixLength)) + methodName.substring(prefixLength + 1);
+    }
+
+    private static void addRecordComponents(Class<?> beanClass, Set<String> propertyNames) {
+        // Java Records are only available from Java 16, so we need to use reflection.
+        try {
+            Method getRecordComponents = Class.class.getMethod("getRecordComponents");
+            Object[] components = (Object[]) getRecordComponents.invoke(beanClass);
+            if (components != null) {
+                for (Object component : components) {
+                    Method getName = component.getClass().getMethod("getName");
+                    propertyNames.add((String) getName.invoke(component));
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            // Not running on Java 16+, so the class can't be a record.
+        }
+    }
+
+    private static void addPublicFields(Class<?> beanClass, Set<String> propertyNames) {
+        for (Field field : beanClass.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                propertyNames.add(field.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import be.atbash.util.PublicAPI;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * All properties of a class, as determined by the {@link BeanIntrospector}. The accessors are ordered by property
+ * name and can be retrieved by their index or their name. Looking up a property by name doesn't allocate any
+ * objects, so it can be used in performance critical code.
+ */
+@PublicAPI
+public final class BeanModel {
+
+    private final Class<?> beanClass;
+    private final FastPropertyMemberAccessor[] accessors;
+    private final List<String> propertyNames;
+
+    // Open addressing table from property name to index within the accessors.
+    private final String[] nameTable;
+    private final int[] indexTable;
+    private final int mask;
+
+    BeanModel(Class<?> beanClass, FastPropertyMemberAccessor[] accessors) {
+        this.beanClass = beanClass;
+        this.accessors = accessors;
+
+        List<String> names = new ArrayList<>(accessors.length);
+        for (FastPropertyMemberAccessor accessor : accessors) {
+            names.add(accessor.getName());
+        }
+        propertyNames = Collections.unmodifiableList(names);
+
+        int size = defineTableSize(accessors);
+        nameTable = new String[size];
+        indexTable = new int[size];
+        mask = size - 1;
+        for (int i = 0; i < accessors.length; i++) {
+            int slot = slot(accessors[i].getName(), mask);
+            while (nameTable[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            nameTable[slot] = accessors[i].getName();
+            indexTable[slot] = i;
+        }
+    }
+
+    /**
+     * Searches the smallest table size (with a load factor of maximum 50%) where each name has its own slot so that
+     * a lookup requires a single comparison. When no such size is found within reasonable limits, collisions are
+     * resolved by linear probing.
+     */
+    private static int defineTableSize(FastPropertyMemberAccessor[] accessors) {
+        int minimal = Integer.highestOneBit(Math.max(1, accessors.length) * 2 - 1) << 1;
+        for (int size = minimal; size <= minimal * 8; size <<= 1) {
+            boolean[] used = new boolean[size];
+            boolean collision = false;
+            for (FastPropertyMemberAccessor accessor : accessors) {
+                int slot = slot(accessor.getName(), size - 1);
+                collision |= used[slot];
+                used[slot] = true;
+            }
+            if (!collision) {
+                return size;
+            }
+        }
+        return minimal;
+    }
+
+    private static int slot(String name, int mask) {
+        int hash = name.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the class of the model.
+     *
+     * @return the class of the model.
+     */
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * Returns the number of properties.
+     *
+     * @return the number of properties.
+     */
+    public int size() {
+        return accessors.length;
+    }
+
+    /**
+     * Returns the names of the properties, in the order of their index.
+     *
+     * @return the names of the properties.
+     */
+    public List<String> getPropertyNames() {
+        return propertyNames;
+    }
+
+    /**
+     * Returns the accessors of all properties, in the order of their index.
+     *
+     * @return a copy of the accessors.
+     */
+    public FastPropertyMemberAccessor[] getAccessors() {
+        return Arrays.copyOf(accessors, accessors.length);
+    }
+
+    /**
+     * Returns the accessor at the index.
+     *
+     * @param index the index of the property.
+     * @return the accessor of the property.
+     * @throws IndexOutOfBoundsException when the index is not valid.
+     */
+    public FastPropertyMemberAccessor getAccessor(int index) {
+        return accessors[index];
+    }
+
+    /**
+     * Returns the accessor of the property.
+     *
+     * @param propertyName the name of the property.
+     * @return the accessor or null when the class has no such property.
+     */
+    public FastPropertyMemberAccessor getAccessor(String propertyName) {
+        int index = indexOf(propertyName);
+        return index < 0 ? null : accessors[index];
+    }
+
+    /**
+     * Returns the index of the property.
+     *
+     * @param propertyName the name of the property.
+     * @return the index of the property or -1 when the class has no such property.
+     */
+    public int indexOf(String propertyName) {
+        if (propertyName == null) {
+            return -1;
+        }
+        int slot = slot(propertyName, mask);
+        String name;
+        while ((name = nameTable[slot]) != null) {
+            if (name.equals(propertyName)) {
+                return indexTable[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "Bean model of " + beanClass + " with properties " + propertyNames;
+    }
+}
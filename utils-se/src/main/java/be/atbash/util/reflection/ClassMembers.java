@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import be.atbash.util.exception.AtbashUnexpectedException;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * The fields and methods of a class, determined once and kept by {@link ReflectionUtils}. The lists contain the
+ * declared members of the class followed by those of its super classes (except Object), synthetic members are
+ * excluded.
+ * <p/>
+ * The cached members are never handed out. Like {@link Class#getDeclaredFields()}, each call returns new copies, so that
+ * a {@code setAccessible(true)} by one caller doesn't affect the other callers.
+ */
+final class ClassMembers {
+
+    private final Field[] publicFields;
+    private final Field[] fields;
+    private final Method[] methods;
+
+    private final Map<Class<? extends Annotation>, Field[]> publicFieldsByAnnotation;
+    private final Map<Class<? extends Annotation>, Field[]> fieldsByAnnotation;
+    private final Map<Class<? extends Annotation>, Method[]> methodsByAnnotation;
+
+    ClassMembers(Class<?> clazz) {
+        List<Field> allPublicFields = new ArrayList<>();
+        for (Field field : clazz.getFields()) {
+            if (!field.isSynthetic()) {
+                allPublicFields.add(field);
+            }
+        }
+        List<Field> allFields = new ArrayList<>();
+        List<Method> allMethods = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!field.isSynthetic()) {
+                    allFields.add(field);
+                }
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (!method.isSynthetic() && !method.isBridge()) {
+                    allMethods.add(method);
+                }
+            }
+        }
+        publicFields = allPublicFields.toArray(new Field[0]);
+        fields = allFields.toArray(new Field[0]);
+        methods = allMethods.toArray(new Method[0]);
+
+        publicFieldsByAnnotation = groupByAnnotation(allPublicFields, Field[]::new);
+        fieldsByAnnotation = groupByAnnotation(allFields, Field[]::new);
+        methodsByAnnotation = groupByAnnotation(allMethods, Method[]::new);
+    }
+
+    private static <M extends AnnotatedElement> Map<Class<? extends Annotation>, M[]> groupByAnnotation(List<M> members, IntFunction<M[]> arrayCreator) {
+        Map<Class<? extends Annotation>, List<M>> grouped = new HashMap<>();
+        for (M member : members) {
+            for (Annotation annotation : member.getDeclaredAnnotations()) {
+                grouped.computeIfAbsent(annotation.annotationType(), key -> new ArrayList<>()).add(member);
+            }
+        }
+        Map<Class<? extends Annotation>, M[]> result = new HashMap<>();
+        for (Map.Entry<Class<? extends Annotation>, List<M>> entry : grouped.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toArray(arrayCreator.apply(0)));
+        }
+        return result;
+    }
+
+    List<Field> getPublicFields() {
+        return copyOf(publicFields);
+    }
+
+    List<Field> getFields() {
+        return copyOf(fields);
+    }
+
+    List<Method> getMethods() {
+        return copyOf(methods);
+    }
+
+    List<Field> getPublicFields(Class<? extends Annotation> annotationType) {
+        return copyOf(publicFieldsByAnnotation.get(annotationType));
+    }
+
+    List<Field> getFields(Class<? extends Annotation> annotationType) {
+        return copyOf(fieldsByAnnotation.get(annotationType));
+    }
+
+    List<Method> getMethods(Class<? extends Annotation> annotationType) {
+        return copyOf(methodsByAnnotation.get(annotationType));
+    }
+
+    private static List<Field> copyOf(Field[] cached) {
+        if (cached == null) {
+            return Collections.emptyList();
+        }
+        Field[] result = new Field[cached.length];
+        for (int i = 0; i < cached.length; i++) {
+            Field field = cached[i];
+            try {
+                // The lookup by the declaring class returns a new copy of the field.
+                result[i] = field.getDeclaringClass().getDeclaredField(field.getName());
+            } catch (NoSuchFieldException e) {
+                throw new AtbashUnexpectedException(e);
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    private static List<Method> copyOf(Method[] cached) {
+        if (cached == null) {
+            return Collections.emptyList();
+        }
+        Method[] result = new Method[cached.length];
+        for (int i = 0; i < cached.length; i++) {
+            Method method = cached[i];
+            try {
+                // The lookup by the declaring class returns a new copy of the method (bridge methods are excluded, so
+                // the most specific return type is the method itself).
+                result[i] = method.getDeclaringClass().getDeclaredMethod(method.getName(), method.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                throw new AtbashUnexpectedException(e);
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+}
@@ -22,9 +22,16 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility class used to conveniently interact with <code>Class</code>es, such as acquiring them from the
@@ -69,6 +76,53 @@ public final class ClassUtils {
         }
     };
 
+    /**
+     * Marker within the cache for a class name which couldn't be loaded.
+     */
+    private static final Object UNKNOWN_CLASS = new Object();
+
+    /**
+     * Maximum number of class names cached for each thread context class loader, so that looking up many different
+     * (unknown) names doesn't grow the cache without limit.
+     */
+    private static final int MAX_CACHED_CLASS_NAMES = 1024;
+
+    /**
+     * The result of the class lookups for each thread context class loader (as that one determines the result). The
+     * class loaders are weakly referenced, and also the classes themselves as they reference their class loader, so
+     * that a redeployed application doesn't leak. Values are a WeakReference to the class or UNKNOWN_CLASS. A
+     * redeployed application has a new context class loader and thus starts with an empty cache, so a cached miss
+     * never hides a class which is deployed later on.
+     */
+    private static final Map<ClassLoader, ConcurrentMap<String, Object>> CLASS_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ConcurrentMap<String, Object> NO_CONTEXT_CLASS_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The instantiators for each class, based on the argument types.
+     */
+    private static final ClassValue<ConcurrentMap<List<Class<?>>, Instantiator<?>>> INSTANTIATORS = new ClassValue<ConcurrentMap<List<Class<?>>, Instantiator<?>>>() {
+        @Override
+        protected ConcurrentMap<List<Class<?>>, Instantiator<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * The instantiators using the declared no-arg constructor. Like {@code Constructor.newInstance()}, the
+     * constructor must be accessible for this library (a public constructor of a public class), otherwise the
+     * instantiator fails with an InstantiationException.
+     */
+    private static final ClassValue<Instantiator<?>> DEFAULT_INSTANTIATORS = new ClassValue<Instantiator<?>>() {
+        @Override
+        protected Instantiator<?> computeValue(Class<?> type) {
+            try {
+                return createInstantiator(type.getDeclaredConstructor(), "Unable to instantiate class [" + type.getName() + "]");
+            } catch (NoSuchMethodException e) {
+                throw new InstantiationException("Unable to instantiate class [" + type.getName() + "]", e);
+            }
+        }
+    };
+
     /**
      * Singleton type class.
      */
@@ -134,13 +188,76 @@ public final class ClassUtils {
      * ClassLoader (<code>ClassLoader.getSystemClassLoader()</code>, in that order.  If any of them cannot locate
      * the specified class, an <code>UnknownClassException</code> is thrown (our RuntimeException equivalent of
      * the JRE's <code>ClassNotFoundException</code>.
+     * <p>The result, also when the class is not found, is cached for each thread context class loader (up to a
+     * maximum number of class names for each class loader).
      *
      * @param fqcn the fully qualified class name to load
      * @return the located class
      * @throws UnknownClassException if the class cannot be found.
      */
     public static Class<?> forName(String fqcn) {
+        Class<?> clazz = resolveClass(fqcn);
+
+        if (clazz == null) {
+            String msg = "Unable to load class named [" + fqcn + "] from the thread context, current, or " +
+                    "system/application ClassLoaders.  All heuristics have been exhausted.  Class could not be found.";
+            throw new UnknownClassException(msg);
+        }
+
+        return clazz;
+    }
+
+    /**
+     * Checks if the fullyQualifiedClassName is available on any classloader.
+     *
+     * @param fullyQualifiedClassName The FQCN to check
+     * @return Is class available or not.
+     */
+    public static boolean isAvailable(String fullyQualifiedClassName) {
+        return resolveClass(fullyQualifiedClassName) != null;
+    }
+
+    /**
+     * Returns the class from the cache for the current thread context class loader, or loads it (the result, also
+     * when not found, is added to the cache as long as it isn't full).
+     *
+     * @param fqcn the fully qualified class name to load
+     * @return the located class or null when not found.
+     */
+    private static Class<?> resolveClass(String fqcn) {
+        ConcurrentMap<String, Object> cache = getClassCache();
+        Object cached = cache.get(fqcn);
+        if (cached == UNKNOWN_CLASS) {
+            return null;
+        }
+        if (cached != null) {
+            Class<?> clazz = (Class<?>) ((WeakReference<?>) cached).get();
+            if (clazz != null) {
+                return clazz;
+            }
+        }
+        Class<?> clazz = loadClass(fqcn);
+        if (cached != null || cache.size() < MAX_CACHED_CLASS_NAMES) {
+            cache.put(fqcn, clazz == null ? UNKNOWN_CLASS : new WeakReference<Class<?>>(clazz));
+        }
+        return clazz;
+    }
 
+    private static ConcurrentMap<String, Object> getClassCache() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        if (contextClassLoader == null) {
+            return NO_CONTEXT_CLASS_CACHE;
+        }
+        ConcurrentMap<String, Object> result = CLASS_CACHE.get(contextClassLoader);
+        if (result == null) {
+            synchronized (CLASS_CACHE) {
+                result = CLASS_CACHE.computeIfAbsent(contextClassLoader, cl -> new ConcurrentHashMap<>());
+            }
+        }
+        return result;
+    }
+
+    private static Class<?> loadClass(String fqcn) {
         Class<?> clazz = THREAD_CL_ACCESSOR.loadClass(fqcn);
 
         if (clazz == null) {
@@ -158,31 +275,9 @@ public final class ClassUtils {
             }
             clazz = SYSTEM_CL_ACCESSOR.loadClass(fqcn);
         }
-
-        if (clazz == null) {
-            String msg = "Unable to load class named [" + fqcn + "] from the thread context, current, or " +
-                    "system/application ClassLoaders.  All heuristics have been exhausted.  Class could not be found.";
-            throw new UnknownClassException(msg);
-        }
-
         return clazz;
     }
 
-    /**
-     * Checks if the fullyQualifiedClassName is available on any classloader.
-     *
-     * @param fullyQualifiedClassName The FQCN to check
-     * @return Is class available or not.
-     */
-    public static boolean isAvailable(String fullyQualifiedClassName) {
-        try {
-            forName(fullyQualifiedClassName);
-            return true;
-        } catch (UnknownClassException e) {
-            return false;
-        }
-    }
-
     /**
      * Creates an instance of the class where it is searched by the algorithm described at the
      * {@link ClassUtils#forName(String)} method using the no-arg constructor.
@@ -225,11 +320,9 @@ public final class ClassUtils {
             String msg = "Class method parameter cannot be null.";
             throw new IllegalArgumentException(msg);
         }
-        try {
-            return (T) clazz.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new InstantiationException("Unable to instantiate class [" + clazz.getName() + "]", e);
-        }
+        @SuppressWarnings("unchecked")
+        T result = (T) DEFAULT_INSTANTIATORS.get(clazz).newInstance();
+        return result;
     }
 
     /**
@@ -249,8 +342,66 @@ public final class ClassUtils {
                 argTypes[i] = args[i].getClass();
             }
         }
-        Constructor<?> ctor = getConstructor(clazz, argTypes);
-        return instantiate(ctor, args);
+        @SuppressWarnings("unchecked")
+        T result = (T) getInstantiator(clazz, argTypes).newInstance(args);
+        return result;
+    }
+
+    /**
+     * Returns the {@link Instantiator} using the public constructor matching the argument types, see
+     * {@link #getConstructor(Class, Class[])} for the matching rules. The constructor is only resolved once for
+     * each class and argument types, and the Instantiator can be reused to create instances without any lookup.
+     *
+     * @param clazz    Class which needs to instantiated.
+     * @param argTypes List of ClassType of arguments, null values allowed.
+     * @param <T>      the type of the class.
+     * @return The Instantiator for the constructor matching the argument types.
+     * @throws NoConstructorFoundException When no constructor (or multiple) is found which matches the argumentTypes.
+     */
+    public static <T> Instantiator<T> getInstantiator(Class<T> clazz, Class<?>... argTypes) {
+        ConcurrentMap<List<Class<?>>, Instantiator<?>> instantiators = INSTANTIATORS.get(clazz);
+        List<Class<?>> key = Arrays.asList(argTypes.clone());
+        Instantiator<?> result = instantiators.get(key);
+        if (result == null) {
+            result = instantiators.computeIfAbsent(key, k -> {
+                Constructor<?> ctor = getConstructor(clazz, argTypes);
+                return createInstantiator(ctor, String.format("Unable to instantiate Permission instance with constructor [%s]", ctor));
+            });
+        }
+        @SuppressWarnings("unchecked")
+        Instantiator<T> instantiator = (Instantiator<T>) result;
+        return instantiator;
+    }
+
+    /**
+     * Creates the {@link Instantiator} for the constructor, backed by a {@link MethodHandle} accepting the arguments
+     * as array. Like {@link Constructor#newInstance(Object...)}, an exception thrown by the constructor is the
+     * cause of an {@link InvocationTargetException}, and errors (like a failing static initializer) are propagated.
+     *
+     * @param ctor         Constructor to be used for instantiating the class.
+     * @param errorMessage The message for the exception when the instantiation fails.
+     * @return The Instantiator.
+     */
+    private static Instantiator<?> createInstantiator(Constructor<?> ctor, String errorMessage) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflectConstructor(ctor)
+                    .asSpreader(Object[].class, ctor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            return args -> {
+                throw new InstantiationException(errorMessage, e);
+            };
+        }
+        return args -> {
+            try {
+                return handle.invokeExact(args);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InstantiationException(errorMessage, new InvocationTargetException(e));
+            }
+        };
     }
 
     /**
@@ -302,7 +453,7 @@ public final class ClassUtils {
     private static List<Constructor<?>> matchAllConstructors(Class<?> clazz, Class<?>[] argTypes, boolean exactMatch) {
         List<Constructor<?>> result = new ArrayList<>();
         for (Constructor<?> constructor : clazz.getConstructors()) {
-            if (constructor.getParameterTypes().length == argTypes.length && matchParameterTypes(constructor.getParameterTypes(), argTypes, exactMatch)) {
+            if (constructor.getParameterCount() == argTypes.length && matchParameterTypes(constructor.getParameterTypes(), argTypes, exactMatch)) {
                 result.add(constructor);
             }
         }
@@ -338,24 +489,6 @@ public final class ClassUtils {
         return result;
     }
 
-    /**
-     * Instantiate the class using the supplied {@link Constructor} and arguments. Arguments are valid for the Constructor
-     * due to the logic defined in {@link #matchParameterTypes(Class[], Class[], boolean)}
-     *
-     * @param ctor Constructor to be used for instantiating the class.
-     * @param args The arguments for the constructor
-     * @param <T>  Convenience generic typecasting so no cast is needed.
-     * @return The new instance.
-     */
-    private static <T> T instantiate(Constructor<?> ctor, Object... args) {
-        try {
-            return (T) ctor.newInstance(args);
-        } catch (Exception e) {
-            String msg = String.format("Unable to instantiate Permission instance with constructor [%s]", ctor);
-            throw new InstantiationException(msg, e);
-        }
-    }
-
     /**
      * Defines the capabilities of the Class Loader accessor.
      */
@@ -20,7 +20,6 @@ package be.atbash.util.reflection;
  * Copyright 2018 Red Hat, Inc. and/or its affiliates.
  */
 
-import be.atbash.util.ConvertDate;
 import be.atbash.util.PublicAPI;
 import be.atbash.util.exception.AtbashUnexpectedException;
 import be.atbash.util.exception.FieldNotFoundException;
@@ -28,16 +27,58 @@ import be.atbash.util.exception.SetFieldValueException;
 
 import java.lang.invoke.*;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Date;
-import java.util.function.BiConsumer;
-import java.util.function.Function;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.*;
 
 @PublicAPI
 public class FastPropertyMemberAccessor {
 
     private static final String GETTER_METHOD = "getterMethod";
+    private static final String SETTER_METHOD = "setterMethod";
+
+    /**
+     * The functional interface used for the getter (and the setter) of each primitive type, so that the value
+     * isn't boxed.
+     */
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_GETTERS = new HashMap<>();
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_SETTERS = new HashMap<>();
+
+    static {
+        PRIMITIVE_GETTERS.put(int.class, ToIntFunction.class);
+        PRIMITIVE_GETTERS.put(long.class, ToLongFunction.class);
+        PRIMITIVE_GETTERS.put(double.class, ToDoubleFunction.class);
+        PRIMITIVE_GETTERS.put(float.class, PrimitiveFunctions.ToFloatFunction.class);
+        PRIMITIVE_GETTERS.put(short.class, PrimitiveFunctions.ToShortFunction.class);
+        PRIMITIVE_GETTERS.put(byte.class, PrimitiveFunctions.ToByteFunction.class);
+        PRIMITIVE_GETTERS.put(char.class, PrimitiveFunctions.ToCharFunction.class);
+        PRIMITIVE_GETTERS.put(boolean.class, Predicate.class);
+
+        PRIMITIVE_SETTERS.put(int.class, ObjIntConsumer.class);
+        PRIMITIVE_SETTERS.put(long.class, ObjLongConsumer.class);
+        PRIMITIVE_SETTERS.put(double.class, ObjDoubleConsumer.class);
+        PRIMITIVE_SETTERS.put(float.class, PrimitiveFunctions.ObjFloatConsumer.class);
+        PRIMITIVE_SETTERS.put(short.class, PrimitiveFunctions.ObjShortConsumer.class);
+        PRIMITIVE_SETTERS.put(byte.class, PrimitiveFunctions.ObjByteConsumer.class);
+        PRIMITIVE_SETTERS.put(char.class, PrimitiveFunctions.ObjCharConsumer.class);
+        PRIMITIVE_SETTERS.put(boolean.class, PrimitiveFunctions.ObjBooleanConsumer.class);
+    }
+
+    /**
+     * Accessors created through {@link #of(Class, String)}. A ClassValue is used so that the bean classes (and
+     * their class loader) can still be unloaded.
+     */
+    private static final ClassValue<ConcurrentMap<String, FastPropertyMemberAccessor>> ACCESSORS = new ClassValue<ConcurrentMap<String, FastPropertyMemberAccessor>>() {
+        @Override
+        protected ConcurrentMap<String, FastPropertyMemberAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     private final Class<?> beanClass;
     private final Class<?> propertyType;
@@ -46,9 +87,35 @@ public class FastPropertyMemberAccessor {
     private final Function<Object, Object> getterFunction;
     private final Method setterMethod;
     private final BiConsumer<Object, Object> setterFunction;
+    // Only for properties of a primitive type with getter (and setter), the instance of the functional interface defined
+    // in PRIMITIVE_GETTERS/SETTERS. For fields, the primitive values are accessed through the typed field handles.
+    private final Object primitiveGetterFunction;
+    private final Object primitiveSetterFunction;
     private final Field field;
+    // Field access when there is no getter, of type (Object)propertyType and (Object,propertyType)void.
+    private final MethodHandle typedFieldGetterHandle;
+    private final MethodHandle typedFieldSetterHandle;
+    // Same as above, but of type (Object)Object and (Object,Object)void.
+    private final MethodHandle fieldGetterHandle;
+    private final MethodHandle fieldSetterHandle;
+    private final ValueConverter valueConverter;
 
     public FastPropertyMemberAccessor(Class<?> beanClass, String propertyName) {
+        this(beanClass, propertyName, false);
+    }
+
+    /**
+     * Creates the accessor for the property of the bean class. When there is no getter for the property, the field
+     * with the property name is used. By default, only public fields can be used. With {@code privateFieldAccess}
+     * the non-public fields (also those of the super classes) are used as well, when the module system allows it (on
+     * Java 9+, the package must be open to this library).
+     *
+     * @param beanClass          the class containing the property.
+     * @param propertyName       the name of the property.
+     * @param privateFieldAccess are non-public fields used when there is no getter?
+     * @throws FieldNotFoundException when no getter or usable field is found for the property.
+     */
+    public FastPropertyMemberAccessor(Class<?> beanClass, String propertyName, boolean privateFieldAccess) {
         this.beanClass = beanClass;
         this.propertyName = propertyName;
 
@@ -57,32 +124,135 @@ public class FastPropertyMemberAccessor {
         if (getterMethod == null) {
             // We don't have a getter, see if we have a public property?
 
-            field = ReflectionUtils.getField(beanClass, propertyName);
-            if (field != null && (field.getModifiers() & Modifier.PUBLIC) != 0) {
-                propertyType = field.getType();
+            Field publicField = ReflectionUtils.getField(beanClass, propertyName);
+            if (publicField != null && (publicField.getModifiers() & Modifier.PUBLIC) != 0) {
+                field = publicField;
+            } else if (privateFieldAccess) {
+                field = findDeclaredField(beanClass, propertyName);
             } else {
-                propertyType = null;
+                field = null;
+            }
+            if (field == null) {
                 throw new FieldNotFoundException(String.format("Property '%s' not found in class %s", propertyName, beanClass));
             }
+            propertyType = field.getType();
+
+            MethodHandles.Lookup lookup = Modifier.isPublic(field.getModifiers()) ? MethodHandles.lookup() : privateLookup(field);
+            typedFieldGetterHandle = createFieldGetterHandle(lookup);
+            typedFieldSetterHandle = createFieldSetterHandle(lookup);
+            fieldGetterHandle = typedFieldGetterHandle.asType(MethodType.methodType(Object.class, Object.class));
+            fieldSetterHandle = typedFieldSetterHandle == null ? null : typedFieldSetterHandle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+
             setterMethod = null;
             getterFunction = null;
             setterFunction = null;
+            primitiveGetterFunction = null;
+            primitiveSetterFunction = null;
         } else {
             propertyType = getterMethod.getReturnType();
 
             MethodHandles.Lookup lookup = MethodHandles.lookup();
             getterFunction = createGetterFunction(lookup);
+            primitiveGetterFunction = createPrimitiveGetterFunction(lookup);
 
             // We have getter, try to find setter.
             setterMethod = ReflectionUtils.getSetterMethod(beanClass, getterMethod.getReturnType(), propertyName);
             if (setterMethod != null) {
                 setterFunction = createSetterFunction(lookup);
+                primitiveSetterFunction = createPrimitiveSetterFunction(lookup);
             } else {
                 setterFunction = null;
+                primitiveSetterFunction = null;
             }
 
             field = null;
+            typedFieldGetterHandle = null;
+            typedFieldSetterHandle = null;
+            fieldGetterHandle = null;
+            fieldSetterHandle = null;
+        }
+        valueConverter = ValueConverterRegistry.forType(propertyType);
+    }
+
+    private static Field findDeclaredField(Class<?> beanClass, String fieldName) {
+        Class<?> current = beanClass;
+        while (current != null && current != Object.class) {
+            try {
+                Field result = current.getDeclaredField(fieldName);
+                if (!Modifier.isStatic(result.getModifiers())) {
+                    return result;
+                }
+            } catch (NoSuchFieldException e) {
+                // intentionally empty
+            }
+            current = current.getSuperclass();
         }
+        return null;
+    }
+
+    @SuppressWarnings("squid:S3011")
+    private MethodHandles.Lookup privateLookup(Field field) {
+        Method privateLookupIn;
+        try {
+            // Java 9+, this respects the module system.
+            privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        } catch (NoSuchMethodException e) {
+            // Java 8
+            field.setAccessible(true);
+            return MethodHandles.lookup();
+        }
+        try {
+            return (MethodHandles.Lookup) privateLookupIn.invoke(null, field.getDeclaringClass(), MethodHandles.lookup());
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new FieldNotFoundException(String.format("Property '%s' not accessible in class %s", propertyName, beanClass));
+        }
+    }
+
+    private MethodHandle createFieldGetterHandle(MethodHandles.Lookup lookup) {
+        try {
+            MethodHandle handle = lookup.unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.methodType(propertyType, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new FieldNotFoundException(String.format("Property '%s' not accessible in class %s", propertyName, beanClass));
+        }
+    }
+
+    private MethodHandle createFieldSetterHandle(MethodHandles.Lookup lookup) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        try {
+            MethodHandle handle = lookup.unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.methodType(void.class, Object.class, propertyType));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the accessor for the property of the bean class. Accessors are created only once for each bean class
+     * and property, and shared as they are thread safe. Since creating an accessor is expensive, this method is
+     * preferred over the constructor.
+     *
+     * @param beanClass    the class containing the property.
+     * @param propertyName the name of the property.
+     * @return the accessor for the property.
+     * @throws FieldNotFoundException when the class has no getter or public field for the property.
+     */
+    public static FastPropertyMemberAccessor of(Class<?> beanClass, String propertyName) {
+        ConcurrentMap<String, FastPropertyMemberAccessor> accessors = ACCESSORS.get(beanClass);
+        FastPropertyMemberAccessor result = accessors.get(propertyName);
+        if (result == null) {
+            // A failure is not cached, the exception is thrown for each call.
+            result = accessors.computeIfAbsent(propertyName, name -> new FastPropertyMemberAccessor(beanClass, name));
+        }
+        return result;
     }
 
     private Function<Object, Object> createGetterFunction(MethodHandles.Lookup lookup) {
@@ -107,6 +277,57 @@ public class FastPropertyMemberAccessor {
         }
     }
 
+    private Object createPrimitiveGetterFunction(MethodHandles.Lookup lookup) {
+        Class<?> functionType = PRIMITIVE_GETTERS.get(propertyType);
+        if (functionType == null) {
+            return null;
+        }
+        Class<?> declaringClass = getterMethod.getDeclaringClass();
+        String methodName = getFunctionalMethodName(functionType);
+        try {
+            CallSite getterSite = LambdaMetafactory.metafactory(lookup,
+                    methodName,
+                    MethodType.methodType(functionType),
+                    MethodType.methodType(propertyType, Object.class),
+                    lookup.findVirtual(declaringClass, getterMethod.getName(), MethodType.methodType(propertyType)),
+                    MethodType.methodType(propertyType, declaringClass));
+            return getterSite.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException(getLambdaCreationErrorMessage(GETTER_METHOD, getterMethod), e);
+        }
+    }
+
+    /**
+     * Returns the name of the single abstract method of the functional interface, like applyAsInt for ToIntFunction.
+     */
+    private static String getFunctionalMethodName(Class<?> functionType) {
+        for (Method method : functionType.getMethods()) {
+            if (Modifier.isAbstract(method.getModifiers())) {
+                return method.getName();
+            }
+        }
+        throw new AtbashUnexpectedException("No functional method found in " + functionType);
+    }
+
+    private Object createPrimitiveSetterFunction(MethodHandles.Lookup lookup) {
+        Class<?> functionType = PRIMITIVE_SETTERS.get(propertyType);
+        if (functionType == null) {
+            return null;
+        }
+        Class<?> declaringClass = setterMethod.getDeclaringClass();
+        try {
+            CallSite setterSite = LambdaMetafactory.metafactory(lookup,
+                    "accept",
+                    MethodType.methodType(functionType),
+                    MethodType.methodType(void.class, Object.class, propertyType),
+                    lookup.findVirtual(declaringClass, setterMethod.getName(), MethodType.methodType(void.class, propertyType)),
+                    MethodType.methodType(void.class, declaringClass, propertyType));
+            return setterSite.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException(getLambdaCreationErrorMessage(SETTER_METHOD, setterMethod), e);
+        }
+    }
+
     private String getLambdaCreationErrorMessage(String methodType, Method method) {
         return "Lambda creation failed for " + methodType + "(" + method + ").";
     }
@@ -131,24 +352,15 @@ public class FastPropertyMemberAccessor {
         try {
             return (BiConsumer<Object, Object>) setterSite.getTarget().invokeExact();
         } catch (Throwable e) {
-            throw new IllegalArgumentException(getLambdaCreationErrorMessage("setterMethod", setterMethod), e);
+            throw new IllegalArgumentException(getLambdaCreationErrorMessage(SETTER_METHOD, setterMethod), e);
         }
     }
 
     private CallSite createSetterFunctionJDK11(MethodHandles.Lookup lookup, Class<?> declaringClass) {
         CallSite setterSite;
         // This is required for JDK 11
-        // Everything should be an object.
-        Class<?> updatedPropertyType = null;
-        if (propertyType == Integer.TYPE) {
-            updatedPropertyType = Integer.class;
-        }
-        if (propertyType == Long.TYPE) {
-            updatedPropertyType = Long.class;
-        }
-        if (propertyType == Boolean.TYPE) {
-            updatedPropertyType = Boolean.class;
-        }
+        // Everything should be an object, so use the wrapper type for primitives.
+        Class<?> updatedPropertyType = MethodType.methodType(propertyType).wrap().returnType();
         try {
             setterSite = LambdaMetafactory.metafactory(lookup,
                     "accept",
@@ -157,11 +369,43 @@ public class FastPropertyMemberAccessor {
                     lookup.findVirtual(declaringClass, setterMethod.getName(), MethodType.methodType(void.class, propertyType)),
                     MethodType.methodType(void.class, declaringClass, updatedPropertyType));
         } catch (LambdaConversionException | NoSuchMethodException | IllegalAccessException e) {
-            throw new IllegalArgumentException(getLambdaCreationErrorMessage("setterMethod", setterMethod), e);
+            throw new IllegalArgumentException(getLambdaCreationErrorMessage(SETTER_METHOD, setterMethod), e);
         }
         return setterSite;
     }
 
+    /**
+     * Returns a handle of type (Object)propertyType to read the property.
+     */
+    MethodHandle getterHandle() {
+        if (typedFieldGetterHandle != null) {
+            return typedFieldGetterHandle;
+        }
+        try {
+            return MethodHandles.lookup().unreflect(getterMethod).asType(MethodType.methodType(propertyType, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new AtbashUnexpectedException(e);
+        }
+    }
+
+    /**
+     * Returns a handle of type (Object,propertyType)void to write the property, null when the property is read-only.
+     */
+    MethodHandle setterHandle() {
+        if (setterMethod == null) {
+            return typedFieldSetterHandle;
+        }
+        try {
+            return MethodHandles.lookup().unreflect(setterMethod).asType(MethodType.methodType(void.class, Object.class, propertyType));
+        } catch (IllegalAccessException e) {
+            throw new AtbashUnexpectedException(e);
+        }
+    }
+
+    ValueConverter getValueConverter() {
+        return valueConverter;
+    }
+
     public String getName() {
         return propertyName;
     }
@@ -175,48 +419,442 @@ public class FastPropertyMemberAccessor {
             return (T)getterFunction.apply(bean);
         } else {
             try {
-                return (T)field.get(bean);
-            } catch (IllegalAccessException e) {
+                return (T) fieldGetterHandle.invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
                 throw new AtbashUnexpectedException(e);
             }
         }
     }
 
+    /**
+     * Returns the value of an int property without boxing. For properties of another type, the value is retrieved
+     * with {@link #get(Object)} and converted with {@link Number#intValue()}.
+     *
+     * @param bean the instance containing the property.
+     * @return the value of the property.
+     */
+    public int getInt(Object bean) {
+        if (propertyType == int.class) {
+            if (primitiveGetterFunction != null) {
+                ToIntFunction<Object> getter = primitiveGetter();
+                return getter.applyAsInt(bean);
+            }
+            if (typedFieldGetterHandle != null) {
+                try {
+                    return (int) typedFieldGetterHandle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        }
+        return this.<Number>get(bean).intValue();
+    }
+
+    /**
+     * Returns the value of a long property without boxing. For properties of another type, the value is retrieved
+     * with {@link #get(Object)} and converted with {@link Number#longValue()}.
+     *
+     * @param bean the instance containing the property.
+     * @return the value of the property.
+     */
+    public long getLong(Object bean) {
+        if (propertyType == long.class) {
+            if (primitiveGetterFunction != null) {
+                ToLongFunction<Object> getter = primitiveGetter();
+                return getter.applyAsLong(bean);
+            }
+            if (typedFieldGetterHandle != null) {
+                try {
+                    return (long) typedFieldGetterHandle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        }
+        return this.<Number>get(bean).longValue();
+    }
+
+    /**
+     * Returns the value of a double property without boxing. For properties of another type, the value is retrieved
+     * with {@link #get(Object)} and converted with {@link Number#doubleValue()}.
+     *
+     * @param bean the instance containing the property.
+     * @return the value of the property.
+     */
+    public double getDouble(Object bean) {
+        if (propertyType == double.class) {
+            if (primitiveGetterFunction != null) {
+                ToDoubleFunction<Object> getter = primitiveGetter();
+                return getter.applyAsDouble(bean);
+            }
+            if (typedFieldGetterHandle != null) {
+                try {
+                    return (double) typedFieldGetterHandle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        }
+        return this.<Number>get(bean).doubleValue();
+    }
+
+    /**
+     * Returns the value of a float property without boxing. For properties of another type, the value is retrieved
+     * with {@link #get(Object)} and converted with {@link Number#floatValue()}.
+     *
+     * @param bean the instance containing the property.
+     * @return the value of the property.
+     */
+    public float getFloat(Object bean) {
+        if (propertyType == float.class) {
+            if (primitiveGetterFunction != null) {
+                PrimitiveFunctions.ToFloatFunction<Object> getter = primitiveGetter();
+                return getter.applyAsFloat(bean);
+            }
+            if (typedFieldGetterHandle != null) {
+                try {
+                    return (float) typedFieldGetterHandle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        }
+        return this.<Number>get(bean).floatValue();
+    }
+
+    /**
+     * Returns the value of a short property without boxing. For properties of another type, the value is retrieved
+     * with {@link #get(Object)} and converted with {@link Number#shortValue()}.
+     *
+     * @param bean the instance containing the property.
+     * @return the value of the property.
+     */
+    public short getShort(Object bean) {
+        if (propertyType == short.class) {
+            if (primitiveGetterFunction != null) {
+                PrimitiveFunctions.ToShortFunction<Object> getter = primitiveGetter();
+                return getter.applyAsShort(bean);
+            }
+            if (typedFieldGetterHandle != null) {
+                try {
+                    return (short) typedFieldGetterHandle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        }
+        return this.<Number>get(bean).shortValue();
+    }
+
+    /**
+     * Returns the value of a byte property without boxing. For properties of another type, the value is retrieved
+     * with {@link #get(Object)} and converted with {@link Number#byteValue()}.
+     *
+     * @param bean the instance containing the property.
+     * @return the value of the property.
+     */
+    public byte getByte(Object bean) {
+        if (propertyType == byte.class) {
+            if (primitiveGetterFunction != null) {
+                PrimitiveFunctions.ToByteFunction<Object> getter = primitiveGetter();
+                return getter.applyAsByte(bean);
+            }
+            if (typedFieldGetterHandle != null) {
+                try {
+                    return (byte) typedFieldGetterHandle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        }
+        return this.<Number>get(bean).byteValue();
+    }
+
+    /**
+     * Returns the value of a char property without boxing. For properties of another type, the value is retrieved
+     * with {@link #get(Object)} and must be a {@link Character}.
+     *
+     * @param bean the instance containing the property.
+     * @return the value of the property.
+     */
+    public char getChar(Object bean) {
+        if (propertyType == char.class) {
+            if (primitiveGetterFunction != null) {
+                PrimitiveFunctions.ToCharFunction<Object> getter = primitiveGetter();
+                return getter.applyAsChar(bean);
+            }
+            if (typedFieldGetterHandle != null) {
+                try {
+                    return (char) typedFieldGetterHandle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        }
+        return this.<Character>get(bean);
+    }
+
+    /**
+     * Returns the value of a boolean property without boxing. For properties of another type, the value is retrieved
+     * with {@link #get(Object)} and must be a {@link Boolean}.
+     *
+     * @param bean the instance containing the property.
+     * @return the value of the property.
+     */
+    public boolean getBoolean(Object bean) {
+        if (propertyType == boolean.class) {
+            if (primitiveGetterFunction != null) {
+                Predicate<Object> getter = primitiveGetter();
+                return getter.test(bean);
+            }
+            if (typedFieldGetterHandle != null) {
+                try {
+                    return (boolean) typedFieldGetterHandle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        }
+        return this.<Boolean>get(bean);
+    }
+
     public boolean supportSet() {
-        return setterMethod != null || field != null;
+        return setterMethod != null || fieldSetterHandle != null;
     }
 
-    @SuppressWarnings("squid:S3011")
+    /**
+     * Sets the value of the property. The value is converted to the property type by the converter from the
+     * {@link ValueConverterRegistry}, when needed.
+     *
+     * @param bean  the instance containing the property.
+     * @param value the new value for the property.
+     */
     public void set(Object bean, Object value) {
         if (setterFunction != null) {
-            setterFunction.accept(bean, convertValue(value, propertyType));
+            setterFunction.accept(bean, valueConverter.convert(value));
         } else {
-            if (field != null) {
-                try {
-                    field.set(bean, convertValue(value, field.getType()));
-                } catch (IllegalAccessException e) {
-                    throw new AtbashUnexpectedException(e);
-                }
+            if (fieldSetterHandle != null) {
+                setField(bean, valueConverter.convert(value));
             } else {
                 throw new SetFieldValueException(propertyName);
             }
         }
     }
 
-    private Object convertValue(Object value, Class<?> type) {
-        if (Short.class.equals(type) || short.class.equals(type)) {
-            return Short.valueOf(value.toString());
+    private void setField(Object bean, Object value) {
+        // Same exceptions as Field.set() for values of the wrong type.
+        if (value == null && propertyType.isPrimitive()) {
+            throw new IllegalArgumentException(String.format("Can not set %s field %s to null value", propertyType, propertyName));
+        }
+        try {
+            fieldSetterHandle.invokeExact(bean, value);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException(String.format("Can not set %s field %s to %s", propertyType, propertyName, value.getClass().getName()), e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AtbashUnexpectedException(e);
+        }
+    }
+
+    /**
+     * Sets the value of an int property without boxing. For properties of another type, the value is set with
+     * {@link #set(Object, Object)}.
+     *
+     * @param bean  the instance containing the property.
+     * @param value the new value for the property.
+     */
+    public void setInt(Object bean, int value) {
+        if (propertyType == int.class && primitiveSetterFunction != null) {
+            ObjIntConsumer<Object> setter = primitiveSetter();
+            setter.accept(bean, value);
+        } else if (propertyType == int.class && typedFieldSetterHandle != null) {
+            try {
+                typedFieldSetterHandle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        } else {
+            set(bean, value);
+        }
+    }
+
+    /**
+     * Sets the value of a long property without boxing. For properties of another type, the value is set with
+     * {@link #set(Object, Object)}.
+     *
+     * @param bean  the instance containing the property.
+     * @param value the new value for the property.
+     */
+    public void setLong(Object bean, long value) {
+        if (propertyType == long.class && primitiveSetterFunction != null) {
+            ObjLongConsumer<Object> setter = primitiveSetter();
+            setter.accept(bean, value);
+        } else if (propertyType == long.class && typedFieldSetterHandle != null) {
+            try {
+                typedFieldSetterHandle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        } else {
+            set(bean, value);
+        }
+    }
+
+    /**
+     * Sets the value of a double property without boxing. For properties of another type, the value is set with
+     * {@link #set(Object, Object)}.
+     *
+     * @param bean  the instance containing the property.
+     * @param value the new value for the property.
+     */
+    public void setDouble(Object bean, double value) {
+        if (propertyType == double.class && primitiveSetterFunction != null) {
+            ObjDoubleConsumer<Object> setter = primitiveSetter();
+            setter.accept(bean, value);
+        } else if (propertyType == double.class && typedFieldSetterHandle != null) {
+            try {
+                typedFieldSetterHandle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        } else {
+            set(bean, value);
+        }
+    }
+
+    /**
+     * Sets the value of a float property without boxing. For properties of another type, the value is set with
+     * {@link #set(Object, Object)}.
+     *
+     * @param bean  the instance containing the property.
+     * @param value the new value for the property.
+     */
+    public void setFloat(Object bean, float value) {
+        if (propertyType == float.class && primitiveSetterFunction != null) {
+            PrimitiveFunctions.ObjFloatConsumer<Object> setter = primitiveSetter();
+            setter.accept(bean, value);
+        } else if (propertyType == float.class && typedFieldSetterHandle != null) {
+            try {
+                typedFieldSetterHandle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        } else {
+            set(bean, value);
+        }
+    }
+
+    /**
+     * Sets the value of a short property without boxing. For properties of another type, the value is set with
+     * {@link #set(Object, Object)}.
+     *
+     * @param bean  the instance containing the property.
+     * @param value the new value for the property.
+     */
+    public void setShort(Object bean, short value) {
+        if (propertyType == short.class && primitiveSetterFunction != null) {
+            PrimitiveFunctions.ObjShortConsumer<Object> setter = primitiveSetter();
+            setter.accept(bean, value);
+        } else if (propertyType == short.class && typedFieldSetterHandle != null) {
+            try {
+                typedFieldSetterHandle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        } else {
+            set(bean, value);
+        }
+    }
+
+    /**
+     * Sets the value of a byte property without boxing. For properties of another type, the value is set with
+     * {@link #set(Object, Object)}.
+     *
+     * @param bean  the instance containing the property.
+     * @param value the new value for the property.
+     */
+    public void setByte(Object bean, byte value) {
+        if (propertyType == byte.class && primitiveSetterFunction != null) {
+            PrimitiveFunctions.ObjByteConsumer<Object> setter = primitiveSetter();
+            setter.accept(bean, value);
+        } else if (propertyType == byte.class && typedFieldSetterHandle != null) {
+            try {
+                typedFieldSetterHandle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        } else {
+            set(bean, value);
         }
-        if (Byte.class.equals(type) || byte.class.equals(type)) {
-            return Byte.valueOf(value.toString());
+    }
+
+    /**
+     * Sets the value of a char property without boxing. For properties of another type, the value is set with
+     * {@link #set(Object, Object)}.
+     *
+     * @param bean  the instance containing the property.
+     * @param value the new value for the property.
+     */
+    public void setChar(Object bean, char value) {
+        if (propertyType == char.class && primitiveSetterFunction != null) {
+            PrimitiveFunctions.ObjCharConsumer<Object> setter = primitiveSetter();
+            setter.accept(bean, value);
+        } else if (propertyType == char.class && typedFieldSetterHandle != null) {
+            try {
+                typedFieldSetterHandle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        } else {
+            set(bean, value);
         }
-        if (Float.class.equals(type) || float.class.equals(type)) {
-            return Float.valueOf(value.toString());
+    }
+
+    /**
+     * Sets the value of a boolean property without boxing. For properties of another type, the value is set with
+     * {@link #set(Object, Object)}.
+     *
+     * @param bean  the instance containing the property.
+     * @param value the new value for the property.
+     */
+    public void setBoolean(Object bean, boolean value) {
+        if (propertyType == boolean.class && primitiveSetterFunction != null) {
+            PrimitiveFunctions.ObjBooleanConsumer<Object> setter = primitiveSetter();
+            setter.accept(bean, value);
+        } else if (propertyType == boolean.class && typedFieldSetterHandle != null) {
+            try {
+                typedFieldSetterHandle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        } else {
+            set(bean, value);
+        }
+    }
+
+    // The type of the function matches the property type, see PRIMITIVE_GETTERS.
+    @SuppressWarnings("unchecked")
+    private <F> F primitiveGetter() {
+        return (F) primitiveGetterFunction;
+    }
+
+    // The type of the function matches the property type, see PRIMITIVE_SETTERS.
+    @SuppressWarnings("unchecked")
+    private <F> F primitiveSetter() {
+        return (F) primitiveSetterFunction;
+    }
+
+    private static RuntimeException propagate(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
         }
-        if (Date.class.equals(type) && value instanceof String) {
-            return ConvertDate.convertToDate(value.toString());
+        if (e instanceof Error) {
+            throw (Error) e;
         }
-        return value;
+        return new AtbashUnexpectedException(e);
     }
 
     @Override
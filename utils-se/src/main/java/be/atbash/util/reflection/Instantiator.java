@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import be.atbash.util.PublicAPI;
+
+/**
+ * Creates new instances of a class with a constructor which is resolved only once. Obtain one through
+ * {@link ClassUtils#getInstantiator(Class, Class[])}.
+ *
+ * @param <T> the type of the created instances.
+ */
+@PublicAPI
+@FunctionalInterface
+public interface Instantiator<T> {
+
+    /**
+     * Creates a new instance.
+     *
+     * @param args The arguments for the constructor
+     * @return The new instance.
+     */
+    T newInstance(Object... args);
+}
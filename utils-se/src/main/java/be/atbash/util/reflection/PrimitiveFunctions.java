@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+/**
+ * Functional interfaces for the primitive types which have no counterpart in {@code java.util.function}. They
+ * are used by the {@link FastPropertyMemberAccessor} to call getters and setters without boxing.
+ */
+final class PrimitiveFunctions {
+
+    private PrimitiveFunctions() {
+    }
+
+    @FunctionalInterface
+    interface ToFloatFunction<T> {
+        float applyAsFloat(T value);
+    }
+
+    @FunctionalInterface
+    interface ToShortFunction<T> {
+        short applyAsShort(T value);
+    }
+
+    @FunctionalInterface
+    interface ToByteFunction<T> {
+        byte applyAsByte(T value);
+    }
+
+    @FunctionalInterface
+    interface ToCharFunction<T> {
+        char applyAsChar(T value);
+    }
+
+    @FunctionalInterface
+    interface ObjFloatConsumer<T> {
+        void accept(T t, float value);
+    }
+
+    @FunctionalInterface
+    interface ObjShortConsumer<T> {
+        void accept(T t, short value);
+    }
+
+    @FunctionalInterface
+    interface ObjByteConsumer<T> {
+        void accept(T t, byte value);
+    }
+
+    @FunctionalInterface
+    interface ObjCharConsumer<T> {
+        void accept(T t, char value);
+    }
+
+    @FunctionalInterface
+    interface ObjBooleanConsumer<T> {
+        void accept(T t, boolean value);
+    }
+}
@@ -18,12 +18,12 @@ package be.atbash.util.reflection;
 import be.atbash.util.CollectionUtils;
 import be.atbash.util.StringUtils;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 public final class ReflectionUtils {
 
@@ -32,16 +32,88 @@ public final class ReflectionUtils {
     private static final String PROPERTY_ACCESSOR_PREFIX_IS = "is";
     private static final String PROPERTY_MUTATOR_PREFIX = "set";
 
+    private static final ClassValue<ClassMembers> CLASS_MEMBERS = new ClassValue<ClassMembers>() {
+        @Override
+        protected ClassMembers computeValue(Class<?> type) {
+            return new ClassMembers(type);
+        }
+    };
+
     private ReflectionUtils() {
     }
 
+    /**
+     * Returns the public fields (also those of the super classes) matching the predicate.
+     *
+     * @param clazz     the class to search.
+     * @param predicate the condition for the fields.
+     * @return the matching fields.
+     */
     public static List<Field> findFields(Class<?> clazz, Predicate<Field> predicate) {
+        List<Field> result = new ArrayList<>();
+        for (Field field : CLASS_MEMBERS.get(clazz).getPublicFields()) {
+            if (predicate.test(field)) {
+                result.add(field);
+            }
+        }
+        return CollectionUtils.unmodifiableList(result);
+    }
 
-        return CollectionUtils.unmodifiableList(findAllFields(clazz).stream().filter(predicate).collect(Collectors.toList()));
+    /**
+     * Returns the public fields (also those of the super classes) annotated with the annotation.
+     *
+     * @param clazz          the class to search.
+     * @param annotationType the annotation on the fields.
+     * @return the annotated public fields.
+     */
+    public static List<Field> findPublicFields(Class<?> clazz, Class<? extends Annotation> annotationType) {
+        return CLASS_MEMBERS.get(clazz).getPublicFields(annotationType);
     }
 
-    private static List<Field> findAllFields(Class<?> clazz) {
-        return Arrays.stream(clazz.getFields()).filter(field -> !field.isSynthetic()).collect(Collectors.toList());
+    /**
+     * Returns all fields, whatever their visibility, declared by the class and its super classes. The fields of the
+     * class itself come first.
+     *
+     * @param clazz the class to search.
+     * @return all fields of the class.
+     */
+    public static List<Field> getAllFields(Class<?> clazz) {
+        return CLASS_MEMBERS.get(clazz).getFields();
+    }
+
+    /**
+     * Returns all fields, whatever their visibility, declared by the class and its super classes which are annotated
+     * with the annotation.
+     *
+     * @param clazz          the class to search.
+     * @param annotationType the annotation on the fields.
+     * @return the annotated fields.
+     */
+    public static List<Field> getAllFields(Class<?> clazz, Class<? extends Annotation> annotationType) {
+        return CLASS_MEMBERS.get(clazz).getFields(annotationType);
+    }
+
+    /**
+     * Returns all methods, whatever their visibility, declared by the class and its super classes (except Object). The
+     * methods of the class itself come first, so overridden methods are also present for the super class.
+     *
+     * @param clazz the class to search.
+     * @return all methods of the class.
+     */
+    public static List<Method> getAllMethods(Class<?> clazz) {
+        return CLASS_MEMBERS.get(clazz).getMethods();
+    }
+
+    /**
+     * Returns all methods, whatever their visibility, declared by the class and its super classes (except Object)
+     * which are annotated with the annotation.
+     *
+     * @param clazz          the class to search.
+     * @param annotationType the annotation on the methods.
+     * @return the annotated methods.
+     */
+    public static List<Method> getAllMethods(Class<?> clazz, Class<? extends Annotation> annotationType) {
+        return CLASS_MEMBERS.get(clazz).getMethods(annotationType);
     }
 
     /**
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import be.atbash.util.PublicAPI;
+
+/**
+ * Converts a value to the type of a property, used by the {@link FastPropertyMemberAccessor} when setting a value.
+ * The converters are defined in the {@link ValueConverterRegistry}.
+ */
+@PublicAPI
+@FunctionalInterface
+public interface ValueConverter {
+
+    /**
+     * Converts the value. The value is never null and not yet an instance of the property type. When the value can't
+     * be converted, it should be returned unchanged so that the property reports the type mismatch.
+     *
+     * @param value the value to convert, never null.
+     * @return the converted value.
+     */
+    Object convert(Object value);
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import be.atbash.util.ConvertDate;
+import be.atbash.util.PublicAPI;
+
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Registry of the {@link ValueConverter}s for each property type. Converters are available for
+ * <ul>
+ * <li>the numeric types (primitive and wrapper), BigDecimal and BigInteger, from another Number (without a String
+ * conversion) or from a String. A Number is only converted to an integral type when the value fits exactly (no
+ * overflow and no fraction). Otherwise, Short, Byte and Float fail with a NumberFormatException and the other types
+ * keep the value so that the property reports the wrong type.</li>
+ * <li>Boolean and Character from a String</li>
+ * <li>Enums from the name of the constant</li>
+ * <li>Date from a String (see {@link ConvertDate}), a Number or an Instant</li>
+ * <li>the java.time types and Duration from their ISO representation</li>
+ * <li>UUID from a String</li>
+ * </ul>
+ * Additional converters can be registered. The converter for a property is determined when the
+ * {@link FastPropertyMemberAccessor} is created, so register them before the accessors are created.
+ */
+@PublicAPI
+public final class ValueConverterRegistry {
+
+    private static final ValueConverter IDENTITY = value -> value;
+
+    private static final Map<Class<?>, ValueConverter> CONVERTERS = new ConcurrentHashMap<>();
+
+    static {
+        registerNumber(Integer.class, value -> toIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE, v -> (int) v), Integer::valueOf, false);
+        registerNumber(Long.class, value -> toIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE, v -> v), Long::valueOf, false);
+        registerNumber(Double.class, Number::doubleValue, Double::valueOf, false);
+        registerNumber(BigDecimal.class, ValueConverterRegistry::toExactBigDecimal, BigDecimal::new, false);
+        registerNumber(BigInteger.class, ValueConverterRegistry::toBigInteger, BigInteger::new, false);
+        // These types were always converted through their String representation, so invalid values fail with a
+        // NumberFormatException.
+        registerNumber(Short.class, value -> toIntegral(value, Short.MIN_VALUE, Short.MAX_VALUE, v -> (short) v), Short::valueOf, true);
+        registerNumber(Byte.class, value -> toIntegral(value, Byte.MIN_VALUE, Byte.MAX_VALUE, v -> (byte) v), Byte::valueOf, true);
+        registerNumber(Float.class, Number::floatValue, Float::valueOf, true);
+
+        CONVERTERS.put(Boolean.class, value -> {
+            if (value instanceof CharSequence) {
+                String text = value.toString();
+                if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+                    return Boolean.valueOf(text);
+                }
+            }
+            return value;
+        });
+        CONVERTERS.put(Character.class, value -> value instanceof CharSequence && ((CharSequence) value).length() == 1 ? ((CharSequence) value).charAt(0) : value);
+        CONVERTERS.put(Date.class, ValueConverterRegistry::toDate);
+        CONVERTERS.put(UUID.class, parsing(UUID::fromString));
+
+        CONVERTERS.put(Instant.class, value -> {
+            if (value instanceof Date) {
+                return ((Date) value).toInstant();
+            }
+            if (value instanceof Long || value instanceof Integer) {
+                return Instant.ofEpochMilli(((Number) value).longValue());
+            }
+            return parse(value, Instant::parse);
+        });
+        CONVERTERS.put(LocalDate.class, parsing(LocalDate::parse));
+        CONVERTERS.put(LocalDateTime.class, parsing(LocalDateTime::parse));
+        CONVERTERS.put(LocalTime.class, parsing(LocalTime::parse));
+        CONVERTERS.put(OffsetDateTime.class, parsing(OffsetDateTime::parse));
+        CONVERTERS.put(ZonedDateTime.class, parsing(ZonedDateTime::parse));
+        CONVERTERS.put(Duration.class, parsing(Duration::parse));
+    }
+
+    private ValueConverterRegistry() {
+    }
+
+    /**
+     * Registers the converter for the type, replacing any existing converter. For a primitive type, the converter is
+     * registered for the wrapper type.
+     *
+     * @param type      the property type.
+     * @param converter the converter for values assigned to properties of that type.
+     */
+    public static void register(Class<?> type, ValueConverter converter) {
+        CONVERTERS.put(wrap(type), converter);
+    }
+
+    /**
+     * Returns the converter for the property type. The returned converter leaves null values and values which are
+     * already an instance of the type unchanged, and returns the value unchanged when there is no converter for the type.
+     *
+     * @param type the property type.
+     * @return the converter for the type, never null.
+     */
+    public static ValueConverter forType(Class<?> type) {
+        Class<?> targetType = wrap(type);
+        ValueConverter converter = CONVERTERS.get(targetType);
+        if (converter == null && targetType.isEnum()) {
+            converter = enumConverter(targetType);
+        }
+        if (converter == null) {
+            return IDENTITY;
+        }
+        ValueConverter result = converter;
+        return value -> value == null || targetType.isInstance(value) ? value : result.convert(value);
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static <T extends Number> void registerNumber(Class<T> type, Function<Number, T> fromNumber, Function<String, T> fromString, boolean failOnInvalid) {
+        CONVERTERS.put(type, value -> {
+            if (value instanceof Number) {
+                T result = fromNumber.apply((Number) value);
+                if (result != null) {
+                    return result;
+                }
+                if (failOnInvalid) {
+                    throw new NumberFormatException(String.format("Value %s can't be converted exactly to %s", value, type.getSimpleName()));
+                }
+                return value;
+            }
+            if (failOnInvalid) {
+                return fromString.apply(value.toString());
+            }
+            return parse(value, fromString);
+        });
+    }
+
+    private static ValueConverter parsing(Function<String, ?> fromString) {
+        return value -> parse(value, fromString);
+    }
+
+    private static Object parse(Object value, Function<String, ?> fromString) {
+        if (!(value instanceof CharSequence)) {
+            return value;
+        }
+        try {
+            return fromString.apply(value.toString());
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // Keep the value, so that the property reports the wrong type.
+            return value;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ValueConverter enumConverter(Class<?> enumType) {
+        return value -> parse(value, name -> Enum.valueOf((Class) enumType, name));
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (isIntegral(value)) {
+            return BigDecimal.valueOf(value.longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(value.doubleValue());
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static BigDecimal toExactBigDecimal(Number value) {
+        try {
+            return toBigDecimal(value);
+        } catch (NumberFormatException e) {
+            // NaN or infinite.
+            return null;
+        }
+    }
+
+    private static BigInteger toBigInteger(Number value) {
+        if (isIntegral(value)) {
+            return BigInteger.valueOf(value.longValue());
+        }
+        try {
+            return toBigDecimal(value).toBigIntegerExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            // Fraction, NaN or infinite.
+            return null;
+        }
+    }
+
+    /**
+     * Converts the value to an integral type when it is within the range and has no fraction.
+     *
+     * @return the converted value or null when the conversion is not exact.
+     */
+    private static <T> T toIntegral(Number value, long min, long max, LongFunction<T> narrow) {
+        long result;
+        if (isIntegral(value)) {
+            result = value.longValue();
+        } else {
+            try {
+                result = toBigDecimal(value).longValueExact();
+            } catch (ArithmeticException | NumberFormatException e) {
+                // Fraction, out of the long range, NaN or infinite.
+                return null;
+            }
+        }
+        return result < min || result > max ? null : narrow.apply(result);
+    }
+
+    private static boolean isIntegral(Number value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static Object toDate(Object value) {
+        if (value instanceof CharSequence) {
+            return ConvertDate.convertToDate(value.toString());
+        }
+        if (value instanceof Number) {
+            return new Date(((Number) value).longValue());
+        }
+        if (value instanceof Instant) {
+            return Date.from((Instant) value);
+        }
+        return value;
+    }
+}
@@ -66,7 +66,7 @@ public class ResourceUtil {
                 readers.add(resourceReader);
             }
         }
-        readers.sort(new OrderComparator());
+        OrderComparator.sort(readers);
     }
 
     private boolean isReaderFound(ResourceReader resourceReader) {
@@ -15,6 +15,8 @@
  */
 package be.atbash.util.resource.internal;
 
+import be.atbash.util.PrefixMatcher;
+import be.atbash.util.StringUtils;
 import be.atbash.util.ordered.Order;
 import be.atbash.util.resource.ResourceReader;
 import org.slf4j.Logger;
@@ -27,7 +29,6 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
 import static be.atbash.util.resource.ResourceUtil.*;
 
@@ -36,14 +37,13 @@ public class FileResourceReader implements ResourceReader {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileResourceReader.class);
 
+    private static final PrefixMatcher HTTP_PROTOCOLS = PrefixMatcher.ignoreAsciiCase(URLResourceReader.HTTP, URLResourceReader.HTTPS);
 
     @Override
     public boolean canRead(String resourcePath, Object context) {
         // Pro forma. This is the last reader which is checked and we assume that it is not classpath, URL or custom defined and thus file.
-        String lowerCasePath = resourcePath.toLowerCase(Locale.ENGLISH);
-
         return !resourcePath.startsWith(CLASSPATH_PREFIX) && !resourcePath.startsWith(URL_PREFIX) &&
-                !lowerCasePath.startsWith(URLResourceReader.HTTP) && !lowerCasePath.startsWith(URLResourceReader.HTTPS);
+                !HTTP_PROTOCOLS.matches(resourcePath);
     }
 
     @Override
@@ -74,8 +74,7 @@ public class FileResourceReader implements ResourceReader {
     }
 
     private static String stripPrefix(String resourcePath) {
-        String lowerCasePath = resourcePath.toLowerCase(Locale.ENGLISH);
-        if (!lowerCasePath.startsWith(FILE_PREFIX)) {
+        if (!StringUtils.startsWithIgnoreAsciiCase(resourcePath, FILE_PREFIX)) {
             return resourcePath;
         }
         return resourcePath.substring(resourcePath.indexOf(':') + 1);
@@ -15,6 +15,7 @@
  */
 package be.atbash.util.resource.internal;
 
+import be.atbash.util.PrefixMatcher;
 import be.atbash.util.ordered.Order;
 import be.atbash.util.resource.ResourceReader;
 import org.slf4j.Logger;
@@ -29,7 +30,6 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
 import static be.atbash.util.resource.ResourceUtil.URL_PREFIX;
 
@@ -42,14 +42,11 @@ public class URLResourceReader implements ResourceReader {
     static final String HTTPS = "https:";
     static final String JAR = "jar:";
 
+    private static final PrefixMatcher URL_PROTOCOLS = PrefixMatcher.ignoreAsciiCase(HTTP, HTTPS, JAR);
 
     @Override
     public boolean canRead(String resourcePath, Object context) {
-        String lowerCasePath = resourcePath.toLowerCase(Locale.ENGLISH);
-        return resourcePath.startsWith(URL_PREFIX)
-                || lowerCasePath.startsWith(HTTP)
-                || lowerCasePath.startsWith(HTTPS)
-                || lowerCasePath.startsWith(JAR);
+        return resourcePath.startsWith(URL_PREFIX) || URL_PROTOCOLS.matches(resourcePath);
     }
 
     @Override
@@ -99,8 +96,7 @@ public class URLResourceReader implements ResourceReader {
     }
 
     private static String stripPrefix(String resourcePath) {
-        String lowerCasePath = resourcePath.toLowerCase(Locale.ENGLISH);
-        if (lowerCasePath.startsWith(HTTP) || lowerCasePath.startsWith(HTTPS) || lowerCasePath.startsWith(JAR)) {
+        if (URL_PROTOCOLS.matches(resourcePath)) {
             return resourcePath;
         }
         return resourcePath.substring(resourcePath.indexOf(':') + 1);
@@ -20,6 +20,10 @@ import be.atbash.util.testclasses.MyAnnotation;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 
 class AnnotationUtilTest {
 
@@ -32,4 +36,51 @@ class AnnotationUtilTest {
     void getAnnotation_notAvailable() {
         Assertions.assertThat(AnnotationUtil.getAnnotation(Child.class, PublicAPI.class)).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAnnotation_cached() {
+        MyAnnotation annotation = AnnotationUtil.getAnnotation(Child.class, MyAnnotation.class);
+        Assertions.assertThat(AnnotationUtil.getAnnotation(Child.class, MyAnnotation.class)).isSameAs(annotation);
+        Assertions.assertThat(AnnotationUtil.getAnnotation(Child.class, PublicAPI.class)).isNull();
+    }
+
+    @Test
+    void getAnnotation_interface() {
+        Assertions.assertThat(AnnotationUtil.getAnnotation(Service.class, MyAnnotation.class)).isNull();
+        Assertions.assertThat(AnnotationUtil.getAnnotation(Contract.class, MyAnnotation.class)).isNotNull();
+    }
+
+    @Test
+    void findAnnotation_interfaces() {
+        Assertions.assertThat(AnnotationUtil.findAnnotation(Service.class, MyAnnotation.class, false, false)).isNull();
+        Assertions.assertThat(AnnotationUtil.findAnnotation(Service.class, MyAnnotation.class, true, false)).isNotNull();
+        Assertions.assertThat(AnnotationUtil.findAnnotation(SubService.class, MyAnnotation.class, true, false)).isNotNull();
+    }
+
+    @Test
+    void findAnnotation_metaAnnotations() {
+        Assertions.assertThat(AnnotationUtil.findAnnotation(MetaAnnotated.class, MyAnnotation.class, false, false)).isNull();
+        Assertions.assertThat(AnnotationUtil.findAnnotation(MetaAnnotated.class, MyAnnotation.class, false, true)).isNotNull();
+        Assertions.assertThat(AnnotationUtil.findAnnotation(MetaAnnotated.class, PublicAPI.class, true, true)).isNull();
+    }
+
+    @MyAnnotation
+    private interface Contract {
+    }
+
+    private static class Service implements Contract {
+    }
+
+    private static class SubService extends Service {
+    }
+
+    @Target({ElementType.TYPE})
+    @Retention(RetentionPolicy.RUNTIME)
+    @MyAnnotation
+    private @interface Composed {
+    }
+
+    @Composed
+    private static class MetaAnnotated {
+    }
+}
@@ -30,6 +30,90 @@ class CollectionUtilsTest {
                 .containsExactly("Value1", "Value2");
     }
 
+    @Test
+    void immutableSet() {
+        Set<String> data = CollectionUtils.immutableSet("Value1", "Value2", "Value1");
+
+        Assertions.assertThat(data).hasSize(2)
+                .containsExactly("Value1", "Value2");
+        Assertions.assertThat(data.contains("Value2")).isTrue();
+        Assertions.assertThat(data.contains("Value3")).isFalse();
+        Assertions.assertThat(data.contains(null)).isFalse();
+        Assertions.assertThat(data).isEqualTo(new HashSet<>(Arrays.asList("Value2", "Value1")));
+        Assertions.assertThatThrownBy(() -> data.add("Value3")).isInstanceOf(UnsupportedOperationException.class);
+        Assertions.assertThatThrownBy(() -> data.remove("Value1")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void immutableSet_large() {
+        Integer[] values = new Integer[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 31;
+        }
+        Set<Integer> data = CollectionUtils.immutableSet(values);
+
+        Assertions.assertThat(data).hasSize(100).containsExactly(values);
+        for (int i = 0; i < 31 * 100; i++) {
+            Assertions.assertThat(data.contains(i)).isEqualTo(i % 31 == 0);
+        }
+        Assertions.assertThat(data.hashCode()).isEqualTo(new HashSet<>(Arrays.asList(values)).hashCode());
+    }
+
+    @Test
+    void immutableSet_empty() {
+        Assertions.assertThat(CollectionUtils.immutableSet()).isEmpty();
+        Assertions.assertThat(CollectionUtils.immutableSet((Object[]) null)).isEmpty();
+    }
+
+    @Test
+    void immutableSet_null() {
+        Assertions.assertThatThrownBy(() -> CollectionUtils.immutableSet("Value1", null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void immutableList() {
+        String[] values = {"Value1", "Value2", "Value1"};
+        List<String> data = CollectionUtils.immutableList(values);
+        values[0] = "Changed";
+
+        Assertions.assertThat(data).containsExactly("Value1", "Value2", "Value1");
+        Assertions.assertThatThrownBy(() -> data.set(0, "Value3")).isInstanceOf(UnsupportedOperationException.class);
+        Assertions.assertThat(CollectionUtils.immutableList()).isEmpty();
+    }
+
+    @Test
+    void immutableMap() {
+        Map<String, Integer> source = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            source.put("key" + i, i);
+        }
+        Map<String, Integer> data = CollectionUtils.immutableMap(source);
+        source.clear();
+
+        Assertions.assertThat(data).hasSize(20);
+        Assertions.assertThat(data.keySet()).startsWith("key0", "key1", "key2");
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertThat(data.get("key" + i)).isEqualTo(i);
+        }
+        Assertions.assertThat(data.get("key20")).isNull();
+        Assertions.assertThat(data.get(null)).isNull();
+        Assertions.assertThat(data.containsKey("key7")).isTrue();
+        Assertions.assertThatThrownBy(() -> data.put("key20", 20)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void immutableMap_small() {
+        Map<String, Integer> source = new HashMap<>();
+        source.put("one", 1);
+        source.put("two", 2);
+        Map<String, Integer> data = CollectionUtils.immutableMap(source);
+
+        Assertions.assertThat(data).isEqualTo(source);
+        Assertions.assertThat(data.hashCode()).isEqualTo(source.hashCode());
+        Assertions.assertThat(CollectionUtils.immutableMap(new HashMap<>())).isEmpty();
+    }
+
     @Test
     void isEmpty_emptyCollection() {
         Assertions.assertThat(CollectionUtils.isEmpty(new ArrayList<>())).isTrue();
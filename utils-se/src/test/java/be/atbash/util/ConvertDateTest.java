@@ -17,13 +17,20 @@ package be.atbash.util;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.*;
 import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.stream.Stream;
 
 class ConvertDateTest {
 
@@ -50,6 +57,170 @@ class ConvertDateTest {
         }
     }
 
+    @Test
+    void convertToDate_beforeGregorianCutover() {
+        // Julian calendar dates, like GregorianCalendar.
+        GregorianCalendar expected = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        expected.clear();
+        expected.set(1500, Calendar.MARCH, 10);
+        Assertions.assertThat(ConvertDate.convertToDate("1500-03-10 00:00 UTC")).isEqualTo(expected.getTime());
+
+        expected.set(1000, Calendar.JUNE, 15, 12, 0);
+        Assertions.assertThat(ConvertDate.convertToDate("1000/06/15 12:00 UTC")).isEqualTo(expected.getTime());
+
+        expected.set(1582, Calendar.OCTOBER, 4, 0, 0);
+        Assertions.assertThat(ConvertDate.convertToDate("1582-10-04 00:00 UTC")).isEqualTo(expected.getTime());
+        expected.set(1582, Calendar.OCTOBER, 15, 0, 0);
+        Assertions.assertThat(ConvertDate.convertToDate("1582-10-15 00:00 UTC")).isEqualTo(expected.getTime());
+    }
+
+    @Test
+    void convertToLocalDateTime() {
+        Assertions.assertThat(ConvertDate.convertToLocalDateTime("2022/4/23 5:02:15 pm"))
+                .isEqualTo(LocalDateTime.of(2022, 4, 23, 17, 2, 15));
+    }
+
+    @Test
+    void convertToLocalDateTime_incomplete() {
+        Assertions.assertThat(ConvertDate.convertToLocalDateTime("dec 15")).isNull();
+        Assertions.assertThat(ConvertDate.convertToLocalDateTime(null)).isNull();
+    }
+
+    @Test
+    void convertToOffsetDateTime_withZone() {
+        OffsetDateTime result = ConvertDate.convertToOffsetDateTime("dec 15 2022 17:2:15 UTC");
+        Assertions.assertThat(result).isEqualTo(OffsetDateTime.of(2022, 12, 15, 17, 2, 15, 0, ZoneOffset.UTC));
+    }
+
+    @Test
+    void convertToInstant() {
+        Instant expected = LocalDateTime.of(2022, 9, 21, 21, 0).atZone(ZoneId.systemDefault()).toInstant();
+        Assertions.assertThat(ConvertDate.convertToInstant("21 september 2022 21")).isEqualTo(expected);
+        Assertions.assertThat(ConvertDate.convertToInstant(new StringBuilder("21 september 2022 21"))).isEqualTo(expected);
+        Assertions.assertThat(ConvertDate.convertToInstant(expected.toEpochMilli())).isEqualTo(expected);
+        Assertions.assertThat(ConvertDate.convertToInstant(null)).isNull();
+    }
+
+    @Test
+    void formatLearning() {
+        LocalDateTime withDayName = ConvertDate.convertToLocalDateTime("Sun 24 2021 08:5:59");
+        ConvertDate.setFormatLearning(true);
+        ConvertDate.resetLearningStatistics();
+        try {
+            Assertions.assertThat(ConvertDate.convertToLocalDateTime("mei 15 2022 17:2:15"))
+                    .isEqualTo(LocalDateTime.of(2022, 5, 15, 17, 2, 15));
+            // Same shape, parsed by the learned format
+            Assertions.assertThat(ConvertDate.convertToLocalDateTime("dec 24 2021 08:5:59"))
+                    .isEqualTo(LocalDateTime.of(2021, 12, 24, 8, 5, 59));
+            // Same shape but a day name instead of month, so not the same format
+            Assertions.assertThat(ConvertDate.convertToLocalDateTime("Sun 24 2021 08:5:59")).isEqualTo(withDayName);
+
+            ConvertDate.LearningStatistics statistics = ConvertDate.getLearningStatistics();
+            Assertions.assertThat(statistics.getMisses()).isEqualTo(1);
+            Assertions.assertThat(statistics.getHits()).isEqualTo(1);
+            Assertions.assertThat(statistics.getFallbacks()).isEqualTo(1);
+            Assertions.assertThat(statistics.getHitRate()).isEqualTo(1.0 / 3);
+        } finally {
+            ConvertDate.setFormatLearning(false);
+        }
+    }
+
+    @ParameterizedTest()
+    @ArgumentsSource(ConvertDateArgumentProvider.class)
+    void convertToDate_formatLearning(ConvertDateArgument argument) {
+        ConvertDate.setFormatLearning(true);
+        try {
+            // Twice, so that the second time the learned format is used.
+            convertToDate(argument);
+            convertToDate(argument);
+        } finally {
+            ConvertDate.setFormatLearning(false);
+        }
+    }
+
+    @Test
+    void convertToEpochMillis() {
+        CharSequence[] values = {"21 september 2022 21", null, "no date", "mei 15 2022 17:2:15", "dec 24 2021 08:5:59", "Sun 24 2021 08:5:59"};
+        long[] result = new long[values.length];
+
+        Assertions.assertThat(ConvertDate.convertToEpochMillis(values, result)).isEqualTo(4);
+        for (int i = 0; i < values.length; i++) {
+            Date expected = ConvertDate.convertToDate(values[i]);
+            Assertions.assertThat(result[i]).isEqualTo(expected == null ? Long.MIN_VALUE : expected.getTime());
+        }
+    }
+
+    @Test
+    void convertToEpochMillis_missingValue() {
+        CharSequence[] values = {null, "no date"};
+        long[] result = new long[3];
+        result[2] = 42L;
+
+        Assertions.assertThat(ConvertDate.convertToEpochMillis(values, result, -1L)).isEqualTo(0);
+        Assertions.assertThat(result).containsExactly(-1L, -1L, 42L);
+    }
+
+    @Test
+    void convertToEpochMillis_malformedValue() {
+        CharSequence[] values = {"2022-01-02", "dec 1x 2022", "2022 xyz", "2022-01-03"};
+        long[] result = new long[values.length];
+        Assertions.assertThatThrownBy(() -> ConvertDate.convertToDate(values[1])).isInstanceOf(NumberFormatException.class);
+
+        Assertions.assertThat(ConvertDate.convertToEpochMillis(values, result, -1L)).isEqualTo(2);
+        Assertions.assertThat(result).containsExactly(ConvertDate.convertToDate(values[0]).getTime(), -1L, -1L, ConvertDate.convertToDate(values[3]).getTime());
+
+        long[] parallelResult = new long[values.length];
+        Assertions.assertThat(ConvertDate.convertToEpochMillisParallel(values, parallelResult, -1L)).isEqualTo(2);
+        Assertions.assertThat(parallelResult).isEqualTo(result);
+
+        Assertions.assertThat(ConvertDate.convertToEpochMillis(Arrays.stream(values), -1L).toArray()).isEqualTo(result);
+    }
+
+    @Test
+    void convertToEpochMillis_resultTooShort() {
+        Assertions.assertThatThrownBy(() -> ConvertDate.convertToEpochMillis(new CharSequence[]{"2022"}, new long[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void convertToEpochMillisParallel() {
+        CharSequence[] values = new CharSequence[10000];
+        long[] expected = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(2000 + i % 30, 1 + i % 12, 1 + i % 28, i % 24, i % 60, i % 59);
+            values[i] = i % 100 == 0 ? null : String.format("%s-%s-%s %s:%s:%s", dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond());
+            expected[i] = i % 100 == 0 ? 0L : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        long[] result = new long[values.length];
+
+        Assertions.assertThat(ConvertDate.convertToEpochMillisParallel(values, result, 0L)).isEqualTo(9900);
+        Assertions.assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void convertToEpochMillis_stream() {
+        Instant expected = ZonedDateTime.of(2022, 9, 21, 21, 0, 0, 0, ZoneId.systemDefault()).toInstant();
+        long[] result = ConvertDate.convertToEpochMillis(Stream.of("21 september 2022 21", "no date", "2022-09-21 21:00:00"), -1L)
+                .toArray();
+
+        Assertions.assertThat(result).containsExactly(expected.toEpochMilli(), -1L, expected.toEpochMilli());
+    }
+
+    @Test
+    void convertToEpochMillis_streamMadeParallel() {
+        List<String> values = new ArrayList<>();
+        long[] expected = new long[100000];
+        for (int i = 0; i < expected.length; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(1990 + i % 40, 1 + i % 12, 1 + i % 28, i % 24, i % 60, i % 59);
+            values.add(String.format("%s-%s-%s %s:%s:%s", dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond()));
+            expected[i] = dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        // The stream is sequential when handed over, and only made parallel afterwards.
+        long[] result = ConvertDate.convertToEpochMillis(values.stream(), 0L).parallel().toArray();
+
+        Assertions.assertThat(result).isEqualTo(expected);
+    }
+
     private void testResult(LocalDateTime result, ConvertDateArgument argument) {
         Assertions.assertThat(result.get(ChronoField.YEAR)).isEqualTo(argument.getYear());
         Assertions.assertThat(result.get(ChronoField.MONTH_OF_YEAR)).isEqualTo(argument.getMonth());
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+
+class DateNameTablesTest {
+
+    private String previousLocales;
+
+    @BeforeEach
+    public void setup() {
+        previousLocales = System.getProperty(DateNameTables.LOCALES_PROPERTY);
+        System.setProperty(DateNameTables.LOCALES_PROPERTY, "nl-BE, en-US");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        if (previousLocales == null) {
+            System.clearProperty(DateNameTables.LOCALES_PROPERTY);
+        } else {
+            System.setProperty(DateNameTables.LOCALES_PROPERTY, previousLocales);
+        }
+    }
+
+    @Test
+    void writeAndRead() throws IOException {
+        StringWriter writer = new StringWriter();
+        DateNameTables.write(writer);
+
+        DateNameTables tables = DateNameTables.read(new StringReader(writer.toString()), Arrays.asList("nl-BE", "en-US"));
+        Assertions.assertThat(tables).isNotNull();
+        Assertions.assertThat(tables.getMonths()).containsEntry("mei", 4);
+        Assertions.assertThat(tables.getMonths()).containsEntry("march", 2);
+        Assertions.assertThat(tables.getMonths()).containsEntry("dec", 11);
+        Assertions.assertThat(tables.getMonths()).doesNotContainKey("March");
+        Assertions.assertThat(tables.getDays()).containsEntry("zondag", 1);
+    }
+
+    @Test
+    void read_otherLocales() throws IOException {
+        StringWriter writer = new StringWriter();
+        DateNameTables.write(writer);
+
+        DateNameTables tables = DateNameTables.read(new StringReader(writer.toString()), Collections.singletonList("en-US"));
+        Assertions.assertThat(tables).isNull();
+    }
+}
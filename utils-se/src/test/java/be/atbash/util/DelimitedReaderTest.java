@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class DelimitedReaderTest {
+
+    @Test
+    void readNext() throws IOException {
+        DelimitedReader reader = new DelimitedReader(new StringReader("a,b\r\n\r\nc,d\re,f\n"));
+
+        Assertions.assertThat(reader.readNext()).containsExactly("a", "b");
+        Assertions.assertThat(reader.readNext()).containsExactly("c", "d");
+        Assertions.assertThat(reader.getRecordNumber()).isEqualTo(3);
+        Assertions.assertThat(reader.readNext()).containsExactly("e", "f");
+        Assertions.assertThat(reader.readNext()).isNull();
+    }
+
+    @Test
+    void readNext_quotedFieldSpanningLines() throws IOException {
+        DelimitedReader reader = new DelimitedReader(new StringReader("1,\"first\nsecond\"\n2,\"\"\"x\"\"\"\n3,last"));
+
+        Assertions.assertThat(reader.readNext()).containsExactly("1", "first\nsecond");
+        Assertions.assertThat(reader.readNext()).containsExactly("2", "\"x\"");
+        Assertions.assertThat(reader.readNext()).containsExactly("3", "last");
+        Assertions.assertThat(reader.readNext()).isNull();
+    }
+
+    @Test
+    void next_recordLargerThanChunk() throws IOException {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            data.append(i).append(';');
+        }
+        data.append("end\nnext");
+        DelimitedReader reader = new DelimitedReader(new StringReader(data.toString()), new LineTokenizer(';'));
+
+        Assertions.assertThat(reader.next()).isTrue();
+        Assertions.assertThat(reader.current().getTokenCount()).isEqualTo(5001);
+        Assertions.assertThat(reader.current().getToken(4321)).isEqualTo("4321");
+        Assertions.assertThat(reader.current().getToken(5000)).isEqualTo("end");
+        Assertions.assertThat(reader.readNext()).containsExactly("next");
+        Assertions.assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    void of_byteBuffer() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap("naam,stad\nJos,Liège\n".getBytes(StandardCharsets.UTF_8));
+        DelimitedReader reader = DelimitedReader.of(buffer, StandardCharsets.UTF_8);
+
+        Assertions.assertThat(reader.readNext()).containsExactly("naam", "stad");
+        Assertions.assertThat(reader.readNext()).containsExactly("Jos", "Liège");
+        Assertions.assertThat(reader.getRecord()).isEqualTo("Jos,Liège");
+        Assertions.assertThat(reader.readNext()).isNull();
+        Assertions.assertThat(buffer.position()).isEqualTo(0);
+    }
+}
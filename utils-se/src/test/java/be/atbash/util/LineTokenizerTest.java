@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LineTokenizerTest {
+
+    @Test
+    void tokenize() {
+        LineTokenizer tokenizer = new LineTokenizer();
+        Assertions.assertThat(tokenizer.tokenize("  Atbash  , , rocks ")).isEqualTo(3);
+
+        Assertions.assertThat(tokenizer.getTokens()).containsExactly("Atbash", "", "rocks");
+    }
+
+    @Test
+    void tokenize_blank() {
+        LineTokenizer tokenizer = new LineTokenizer();
+
+        Assertions.assertThat(tokenizer.tokenize("   ")).isEqualTo(0);
+        Assertions.assertThat(tokenizer.tokenize((CharSequence) null)).isEqualTo(0);
+        Assertions.assertThat(tokenizer.getTokens()).isEmpty();
+    }
+
+    @Test
+    void tokenize_quoted() {
+        LineTokenizer tokenizer = new LineTokenizer();
+        tokenizer.tokenize("a, \" b, c \", \"say \"\"hi\"\"\"");
+
+        Assertions.assertThat(tokenizer.getTokens()).containsExactly("a", "b, c", "say \"hi\"");
+    }
+
+    @Test
+    void tokenize_retainQuotes() {
+        LineTokenizer tokenizer = new LineTokenizer(';', '[', ']', true, false);
+        tokenizer.tokenize("a ;[b;c]; d");
+
+        Assertions.assertThat(tokenizer.getTokens()).containsExactly("a ", "[b;c]", " d");
+    }
+
+    @Test
+    void tokenize_offsets() {
+        LineTokenizer tokenizer = new LineTokenizer();
+        String line = "first, \"second\" ,third";
+        tokenizer.tokenize(line);
+
+        Assertions.assertThat(tokenizer.getTokenCount()).isEqualTo(3);
+        Assertions.assertThat(line.substring(tokenizer.getTokenStart(0), tokenizer.getTokenEnd(0))).isEqualTo("first");
+        Assertions.assertThat(line.substring(tokenizer.getTokenStart(1), tokenizer.getTokenEnd(1))).isEqualTo("\"second\"");
+        Assertions.assertThat(tokenizer.getTokenLength(1)).isEqualTo(6);
+        Assertions.assertThat(line.substring(tokenizer.getTokenStart(2), tokenizer.getTokenEnd(2))).isEqualTo("third");
+    }
+
+    @Test
+    void tokenize_charArraySlice() {
+        LineTokenizer tokenizer = new LineTokenizer('|');
+        char[] chars = "xxx a|b xxx".toCharArray();
+        tokenizer.tokenize(chars, 3, 5);
+
+        Assertions.assertThat(tokenizer.getTokens()).containsExactly("a", "b");
+        Assertions.assertThat(tokenizer.getTokenStart(1)).isEqualTo(6);
+        Assertions.assertThat(tokenizer.appendToken(0, new StringBuilder(">")).toString()).isEqualTo(">a");
+    }
+
+    @Test
+    void tokenize_reuse() {
+        LineTokenizer tokenizer = new LineTokenizer();
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longLine.append(i).append(',');
+        }
+        Assertions.assertThat(tokenizer.tokenize(longLine)).isEqualTo(101);
+        Assertions.assertThat(tokenizer.getToken(99)).isEqualTo("99");
+
+        Assertions.assertThat(tokenizer.tokenize("x,y")).isEqualTo(2);
+        Assertions.assertThat(tokenizer.getTokens()).containsExactly("x", "y");
+    }
+
+    @Test
+    void getToken_outOfRange() {
+        LineTokenizer tokenizer = new LineTokenizer();
+        tokenizer.tokenize("a,b");
+
+        Assertions.assertThatThrownBy(() -> tokenizer.getToken(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
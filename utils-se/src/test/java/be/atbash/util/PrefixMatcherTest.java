@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PrefixMatcherTest {
+
+    @Test
+    void indexOf() {
+        PrefixMatcher matcher = PrefixMatcher.ignoreAsciiCase("http:", "https:", "jar:", "é:");
+
+        Assertions.assertThat(matcher.indexOf("HTTPS://atbash.be")).isEqualTo(1);
+        Assertions.assertThat(matcher.indexOf("http://atbash.be")).isEqualTo(0);
+        Assertions.assertThat(matcher.indexOf("Jar:file:/lib.jar!/")).isEqualTo(2);
+        Assertions.assertThat(matcher.indexOf("é:x")).isEqualTo(3);
+        Assertions.assertThat(matcher.indexOf("file:/tmp")).isEqualTo(-1);
+        Assertions.assertThat(matcher.indexOf("")).isEqualTo(-1);
+        Assertions.assertThat(matcher.indexOf(null)).isEqualTo(-1);
+    }
+
+    @Test
+    void matches() {
+        PrefixMatcher matcher = PrefixMatcher.ignoreAsciiCase("classpath:");
+
+        Assertions.assertThat(matcher.matches("ClassPath:config.properties")).isTrue();
+        Assertions.assertThat(matcher.matches("class")).isFalse();
+    }
+
+    @Test
+    void stripPrefix() {
+        PrefixMatcher matcher = PrefixMatcher.ignoreAsciiCase("file:", "url:");
+
+        Assertions.assertThat(matcher.stripPrefix("FILE:/tmp/data")).isEqualTo("/tmp/data");
+        Assertions.assertThat(matcher.stripPrefix("/tmp/data")).isEqualTo("/tmp/data");
+    }
+
+    @Test
+    void ignoreAsciiCase_emptyPrefix() {
+        Assertions.assertThatThrownBy(() -> PrefixMatcher.ignoreAsciiCase("a", ""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+class ProxyUtilsTest {
+
+    @Test
+    void notProxied() {
+        Assertions.assertThat(ProxyUtils.isProxiedClass(Service.class)).isFalse();
+        Assertions.assertThat(ProxyUtils.getUnproxiedClass(Service.class)).isEqualTo(Service.class);
+        Assertions.assertThat(ProxyUtils.getClassName(Service.class)).isEqualTo(Service.class.getName());
+    }
+
+    @Test
+    void proxied() {
+        Assertions.assertThat(ProxyUtils.isProxiedClass(Service$$OwbProxy.class)).isTrue();
+        Assertions.assertThat(ProxyUtils.getUnproxiedClass(Service$$OwbProxy.class)).isEqualTo(Service.class);
+        Assertions.assertThat(ProxyUtils.getClassName(Service$$OwbProxy.class)).isEqualTo(Service.class.getName());
+    }
+
+    @Test
+    void proxied_multiLevel() {
+        Assertions.assertThat(ProxyUtils.isProxiedClass(Service$ByteBuddy$Nested.class)).isTrue();
+        Assertions.assertThat(ProxyUtils.getUnproxiedClass(Service$ByteBuddy$Nested.class)).isEqualTo(Service.class);
+    }
+
+    @Test
+    void proxied_jdkProxy() {
+        Object proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Runnable.class}, (p, m, a) -> null);
+
+        Assertions.assertThat(ProxyUtils.isProxiedClass(proxy.getClass())).isTrue();
+        Assertions.assertThat(ProxyUtils.getUnproxiedClass(proxy.getClass())).isEqualTo(Runnable.class);
+    }
+
+    @Test
+    void proxied_customMarker() {
+        Assertions.assertThat(ProxyUtils.isProxiedClass(Service$$AtbashTest.class)).isTrue();
+        Assertions.assertThat(ProxyUtils.getUnproxiedClass(Service$$AtbashTest.class)).isEqualTo(Service.class);
+    }
+
+    @Test
+    void loadMarkers_failingProviders() {
+        Iterator<ProxyClassMarker> providers = new Iterator<ProxyClassMarker>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < 4;
+            }
+
+            @Override
+            public ProxyClassMarker next() {
+                index++;
+                switch (index) {
+                    case 1:
+                        return () -> Collections.singletonList("$$First");
+                    case 2:
+                        throw new ServiceConfigurationError("Provider not found");
+                    case 3:
+                        return () -> {
+                            throw new IllegalStateException("Broken provider");
+                        };
+                    default:
+                        return () -> Collections.singletonList("$$Last");
+                }
+            }
+        };
+
+        Collection<String> markers = ProxyUtils.loadMarkers(providers);
+        Assertions.assertThat(markers).contains("$$Owb", "$$First", "$$Last");
+    }
+
+    @Test
+    void loadMarkers_failingConfiguration() {
+        Iterator<ProxyClassMarker> providers = new Iterator<ProxyClassMarker>() {
+            @Override
+            public boolean hasNext() {
+                throw new ServiceConfigurationError("Invalid configuration");
+            }
+
+            @Override
+            public ProxyClassMarker next() {
+                throw new NoSuchElementException();
+            }
+        };
+
+        Assertions.assertThat(ProxyUtils.loadMarkers(providers)).contains("$$Owb", "$HibernateProxy$");
+    }
+
+    public static class Service {
+    }
+
+    public static class Service$$OwbProxy extends Service {
+    }
+
+    public static class Service$ByteBuddy$Nested extends Service$$OwbProxy {
+    }
+
+    public static class Service$$AtbashTest extends Service {
+    }
+
+    public static class TestProxyClassMarker implements ProxyClassMarker {
+
+        @Override
+        public Collection<String> getMarkers() {
+            return Collections.singletonList("$$AtbashTest");
+        }
+    }
+}
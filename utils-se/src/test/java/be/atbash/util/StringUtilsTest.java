@@ -18,7 +18,9 @@ package be.atbash.util;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 class StringUtilsTest {
@@ -160,6 +162,39 @@ class StringUtilsTest {
         Assertions.assertThat(StringUtils.startsWithIgnoreCase("Atbash", "bash")).isFalse();
     }
 
+    @Test
+    void startsWithIgnoreCase_shorter() {
+        Assertions.assertThat(StringUtils.startsWithIgnoreCase("At", "Atbash")).isFalse();
+    }
+
+    @Test
+    void startsWithIgnoreAsciiCase() {
+        Assertions.assertThat(StringUtils.startsWithIgnoreAsciiCase("HTTPS://atbash.be", "https:")).isTrue();
+        Assertions.assertThat(StringUtils.startsWithIgnoreAsciiCase("http", "https:")).isFalse();
+        Assertions.assertThat(StringUtils.startsWithIgnoreAsciiCase(null, "https:")).isFalse();
+    }
+
+    @Test
+    void endsWithIgnoreAsciiCase() {
+        Assertions.assertThat(StringUtils.endsWithIgnoreAsciiCase("config.PROPERTIES", ".properties")).isTrue();
+        Assertions.assertThat(StringUtils.endsWithIgnoreAsciiCase("config.yaml", ".properties")).isFalse();
+    }
+
+    @Test
+    void equalsIgnoreAsciiCase() {
+        Assertions.assertThat(StringUtils.equalsIgnoreAsciiCase("Atbash", "aTBASH")).isTrue();
+        Assertions.assertThat(StringUtils.equalsIgnoreAsciiCase("\u00e9t\u00e9", "\u00c9T\u00c9")).isFalse();
+        Assertions.assertThat(StringUtils.equalsIgnoreAsciiCase(null, null)).isTrue();
+        Assertions.assertThat(StringUtils.equalsIgnoreAsciiCase("a", null)).isFalse();
+    }
+
+    @Test
+    void indexOfIgnoreAsciiCase() {
+        Assertions.assertThat(StringUtils.indexOfIgnoreAsciiCase("Content-Type: TEXT/html", "text/", 0)).isEqualTo(14);
+        Assertions.assertThat(StringUtils.indexOfIgnoreAsciiCase("abcABC", "abc", 1)).isEqualTo(3);
+        Assertions.assertThat(StringUtils.indexOfIgnoreAsciiCase("abc", "abcd", 0)).isEqualTo(-1);
+    }
+
     @Test
     void clean_null() {
         Assertions.assertThat(StringUtils.clean(null)).isNull();
@@ -218,6 +253,48 @@ class StringUtilsTest {
 
     }
 
+    @Test
+    void toDelimitedString_nullValues() {
+        Assertions.assertThat(StringUtils.toDelimitedString(",", null, "b", null)).isEqualTo(",b,");
+        Assertions.assertThat(StringUtils.toDelimitedString(",", Arrays.asList("a", null, 3))).isEqualTo("a,,3");
+    }
+
+    @Test
+    void toDelimitedString_nested() {
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                return StringUtils.toDelimitedString("-", "x", "y");
+            }
+        };
+        Assertions.assertThat(StringUtils.toDelimitedString(",", "a", nested, "b")).isEqualTo("a,x-y,b");
+    }
+
+    @Test
+    void toDelimitedString_large() {
+        String[] values = new String[500];
+        Arrays.fill(values, "value");
+        String result = StringUtils.toDelimitedString(",", (Object[]) values);
+        Assertions.assertThat(result).hasSize(500 * 6 - 1);
+
+        // reusable builder of the thread still gives correct results
+        Assertions.assertThat(StringUtils.toDelimitedString(",", "a", "b")).isEqualTo("a,b");
+    }
+
+    @Test
+    void appendDelimited() {
+        StringBuilder builder = new StringBuilder("key=");
+        StringUtils.appendDelimited(builder, ":", "Atbash", 1, null, new StringBuilder("x"));
+        Assertions.assertThat(builder.toString()).isEqualTo("key=Atbash:1::x");
+    }
+
+    @Test
+    void appendDelimited_writer() {
+        StringWriter writer = new StringWriter();
+        StringUtils.appendDelimited(writer, ", ", Arrays.asList("Atbash", "rocks"));
+        Assertions.assertThat(writer.toString()).isEqualTo("Atbash, rocks");
+    }
+
     @Test
     void tokenizeToStringArray() {
 
@@ -236,6 +313,32 @@ class StringUtilsTest {
         Assertions.assertThat(StringUtils.tokenizeToStringArray(null, ",")).isNull();
     }
 
+    @Test
+    void tokenizeToStringArray_keepEmpty() {
+        String[] data = StringUtils.tokenizeToStringArray(";a; ;;b c\u00e9d", "; \u00e9", false, false);
+        Assertions.assertThat(data).containsExactly("a", "b", "c", "d");
+
+        data = StringUtils.tokenizeToStringArray("a, ,b", ",", true, false);
+        Assertions.assertThat(data).containsExactly("a", "", "b");
+    }
+
+    @Test
+    void tokenize() {
+        String value = " text/html ; q=0.8,, application/json ";
+        List<String> tokens = new ArrayList<>();
+        int count = StringUtils.tokenize(value, ";,", (start, end) -> tokens.add(value.substring(start, end)));
+
+        Assertions.assertThat(count).isEqualTo(3);
+        Assertions.assertThat(tokens).containsExactly("text/html", "q=0.8", "application/json");
+    }
+
+    @Test
+    void tokenize_null() {
+        Assertions.assertThat(StringUtils.tokenize(null, ",", (start, end) -> {
+            throw new IllegalStateException("no tokens expected");
+        })).isEqualTo(0);
+    }
+
     @Test
     void split() {
         String[] data = StringUtils.split("Atbash  , , rocks");
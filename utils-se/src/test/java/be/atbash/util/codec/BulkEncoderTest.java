@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.codec;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class BulkEncoderTest {
+
+    private static final char[] BASE32_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+
+    private final Random random = new Random(20221019L);
+
+    @Test
+    void encodeHex_sameAsScalar() {
+        for (int length = 0; length < 100; length++) {
+            byte[] data = randomBytes(length + 3);
+            char[] expected = new char[length * 2];
+            char[] actual = new char[length * 2];
+
+            BulkEncoder.encodeHexScalar(data, 3, length, expected, 0);
+            BulkEncoder.encodeHex(data, 3, length, actual, 0);
+
+            Assertions.assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void encodeHex_allByteValues() {
+        byte[] data = new byte[256];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        String hex = Hex.encodeToString(data);
+        for (int i = 0; i < data.length; i++) {
+            Assertions.assertThat(hex.substring(i * 2, i * 2 + 2)).isEqualTo(String.format("%02X", i));
+        }
+    }
+
+    @Test
+    void encodeHex_part() {
+        byte[] data = {0x01, 0x02, (byte) 0xAB, (byte) 0xFF};
+        Assertions.assertThat(Hex.encodeToString(data, 1, 2)).isEqualTo("02AB");
+    }
+
+    @Test
+    void encodeBase32_rfc4648() {
+        Assertions.assertThat(Base32Codec.encodeToString("f".getBytes())).isEqualTo("MY");
+        Assertions.assertThat(Base32Codec.encodeToString("fo".getBytes())).isEqualTo("MZXQ");
+        Assertions.assertThat(Base32Codec.encodeToString("foo".getBytes())).isEqualTo("MZXW6");
+        Assertions.assertThat(Base32Codec.encodeToString("foob".getBytes())).isEqualTo("MZXW6YQ");
+        Assertions.assertThat(Base32Codec.encodeToString("fooba".getBytes())).isEqualTo("MZXW6YTB");
+        Assertions.assertThat(Base32Codec.encodeToString("foobar".getBytes())).isEqualTo("MZXW6YTBOI");
+    }
+
+    @Test
+    void encodeBase32_sameAsBitBuffer() {
+        for (int length = 0; length < 100; length++) {
+            byte[] data = randomBytes(length);
+            char[] actual = new char[BulkEncoder.base32Length(length)];
+
+            BulkEncoder.encodeBase32(data, 0, length, BASE32_ALPHABET, actual, 0);
+
+            Assertions.assertThat(new String(actual)).isEqualTo(encodeBase32BitByBit(data));
+        }
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] result = new byte[length];
+        random.nextBytes(result);
+        return result;
+    }
+
+    private static String encodeBase32BitByBit(byte[] data) {
+        StringBuilder result = new StringBuilder();
+        int totalBits = data.length * 8;
+        for (int bit = 0; bit < totalBits; bit += 5) {
+            int index = 0;
+            for (int k = 0; k < 5; k++) {
+                int position = bit + k;
+                int value = position < totalBits ? (data[position / 8] >> (7 - position % 8)) & 1 : 0;
+                index = (index << 1) | value;
+            }
+            result.append(BASE32_ALPHABET[index]);
+        }
+        return result.toString();
+    }
+}
@@ -18,6 +18,14 @@ package be.atbash.util.codec;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 class ByteSourceTest {
 
@@ -53,4 +61,79 @@ class ByteSourceTest {
 
     }
 
+    @Test
+    void byteBuffer() {
+        System.setProperty("default.creator", "true");
+
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5});
+        buffer.position(1);
+        buffer.limit(4);
+        Assertions.assertThat(ByteSource.creator.bytes(buffer).getBytes()).isEqualTo(new byte[]{2, 3, 4});
+        Assertions.assertThat(buffer.position()).isEqualTo(1);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(2);
+        direct.put((byte) 7).put((byte) 8).flip();
+        Assertions.assertThat(ByteSource.creator.bytes(direct).getBytes()).isEqualTo(new byte[]{7, 8});
+    }
+
+    @Test
+    void path(@TempDir Path directory) throws IOException {
+        System.setProperty("default.creator", "true");
+
+        Path file = directory.resolve("data.bin");
+        Files.write(file, new byte[]{65, 116, 98, 97, 115, 104});
+        Assertions.assertThat(ByteSource.creator.isCompatible(file)).isTrue();
+        Assertions.assertThat(ByteSource.creator.bytes(file).getBytes()).isEqualTo(new byte[]{65, 116, 98, 97, 115, 104});
+    }
+
+    @Test
+    void path_notExisting(@TempDir Path directory) {
+        System.setProperty("default.creator", "true");
+
+        Assertions.assertThatThrownBy(() -> ByteSource.creator.bytes(directory.resolve("missing.bin")))
+                .isInstanceOf(CodecException.class);
+    }
+
+    @Test
+    void readableByteChannel() {
+        System.setProperty("default.creator", "true");
+
+        ByteArrayInputStream in = new ByteArrayInputStream(new byte[]{10, 20, 30});
+        Assertions.assertThat(ByteSource.creator.bytes(Channels.newChannel(in)).getBytes()).isEqualTo(new byte[]{10, 20, 30});
+    }
+
+    @Test
+    void registeredType() {
+        System.setProperty("default.creator", "true");
+
+        ByteSourceCreatorRegistry.getInstance().register(Holder.class, h -> new DefaultByteSource(h.data));
+
+        Assertions.assertThat(ByteSource.creator.isCompatible(new SpecialHolder(new byte[]{1}))).isTrue();
+        Assertions.assertThat(ByteSource.creator.bytes(new SpecialHolder(new byte[]{1, 2})).getBytes()).isEqualTo(new byte[]{1, 2});
+
+        ByteSourceCreatorRegistry.getInstance().register(SpecialHolder.class, h -> new DefaultByteSource(new byte[]{9}));
+        Assertions.assertThat(ByteSource.creator.bytes(new SpecialHolder(new byte[]{1, 2})).getBytes()).isEqualTo(new byte[]{9});
+        Assertions.assertThat(ByteSource.creator.bytes(new Holder(new byte[]{1, 2})).getBytes()).isEqualTo(new byte[]{1, 2});
+    }
+
+    @Test
+    void creators_ordered() {
+        Assertions.assertThat(ByteSourceCreatorRegistry.getInstance().getCreators()).isNotEmpty();
+        Assertions.assertThat(ByteSourceCreatorRegistry.getInstance().getCreators())
+                .last().isExactlyInstanceOf(DefaultByteSourceCreator.class);
+    }
+
+    private static class Holder {
+        private final byte[] data;
+
+        Holder(byte[] data) {
+            this.data = data;
+        }
+    }
+
+    private static class SpecialHolder extends Holder {
+        SpecialHolder(byte[] data) {
+            super(data);
+        }
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.codec;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+class CodecSupportTest {
+
+    private static final String TEXT = "Atbash éû € 😀";
+
+    @Test
+    void toBytes_chars() {
+        byte[] bytes = CodecSupport.toBytes(TEXT.toCharArray());
+        Assertions.assertThat(bytes).isEqualTo(TEXT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void toBytes_chars_otherCharset() {
+        byte[] bytes = CodecSupport.toBytes(TEXT.toCharArray(), StandardCharsets.ISO_8859_1);
+        Assertions.assertThat(bytes).isEqualTo(TEXT.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void toBytes_chars_encodingName() {
+        byte[] bytes = CodecSupport.toBytes(TEXT.toCharArray(), "UTF-16");
+        Assertions.assertThat(bytes).isEqualTo(TEXT.getBytes(StandardCharsets.UTF_16));
+    }
+
+    @Test
+    void toBytes_chars_unpairedSurrogate() {
+        char[] chars = {'a', '\ud83d', 'b'};
+        Assertions.assertThat(CodecSupport.toBytes(chars)).isEqualTo(new String(chars).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void toBytes_unsupportedEncoding() {
+        Assertions.assertThatThrownBy(() -> CodecSupport.toBytes("Atbash", "Unknown-Encoding"))
+                .isInstanceOf(CodecException.class);
+    }
+
+    @Test
+    void toChars() {
+        char[] chars = CodecSupport.toChars(TEXT.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThat(chars).isEqualTo(TEXT.toCharArray());
+    }
+
+    @Test
+    void toChars_malformed() {
+        byte[] bytes = {65, (byte) 0xC3, 66};
+        Assertions.assertThat(CodecSupport.toChars(bytes)).isEqualTo(new String(bytes, StandardCharsets.UTF_8).toCharArray());
+    }
+
+    @Test
+    void toString_charset() {
+        Assertions.assertThat(CodecSupport.toString(TEXT.getBytes(StandardCharsets.UTF_16BE), StandardCharsets.UTF_16BE)).isEqualTo(TEXT);
+    }
+
+    @Test
+    void clear() {
+        char[] chars = "secret".toCharArray();
+        byte[] bytes = CodecSupport.toBytes(chars);
+
+        CodecSupport.clear(chars);
+        CodecSupport.clear(bytes);
+
+        Assertions.assertThat(chars).containsOnly('\0');
+        Assertions.assertThat(bytes).containsOnly(0);
+    }
+}
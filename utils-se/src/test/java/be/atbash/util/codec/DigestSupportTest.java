@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.codec;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+
+class DigestSupportTest {
+
+    private static final String SHA256_ABC = "BA7816BF8F01CFEA414140DE5DAE2223B00361A396177A9CB410FF61F20015AD";
+    private static final String HMAC_RFC4231_2 = "5BDCC146BF60754E6A042426089575C75A003F089D2739839DEC58B964EC3843";
+    private static final byte[] JEFE = "Jefe".getBytes(StandardCharsets.UTF_8);
+    private static final String HMAC_DATA = "what do ya want for nothing?";
+
+    @Test
+    void digest_byteSource() {
+        ByteSource digest = new DefaultByteSource("abc").digest("SHA-256");
+        Assertions.assertThat(digest.toHex()).isEqualTo(SHA256_ABC);
+    }
+
+    @Test
+    void digest_secureByteSource() {
+        try (SecureByteSource source = new SecureByteSource("abc".toCharArray())) {
+            Assertions.assertThat(source.digest("SHA-256").toHex()).isEqualTo(SHA256_ABC);
+        }
+    }
+
+    @Test
+    void digest_reused() {
+        Assertions.assertThat(new DefaultByteSource("abc").digest("SHA-256").toHex()).isEqualTo(SHA256_ABC);
+        Assertions.assertThat(new DefaultByteSource("abc").digest("SHA-256").toHex()).isEqualTo(SHA256_ABC);
+    }
+
+    @Test
+    void digest_stream() {
+        ByteArrayInputStream stream = new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThat(DigestSupport.digest("SHA-256", stream).toHex()).isEqualTo(SHA256_ABC);
+    }
+
+    @Test
+    void digest_smallFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("small.txt");
+        Files.write(file, "abc".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThat(DigestSupport.digest("SHA-256", file).toHex()).isEqualTo(SHA256_ABC);
+        Assertions.assertThat(DigestSupport.digest("SHA-256", file.toFile()).toHex()).isEqualTo(SHA256_ABC);
+    }
+
+    @Test
+    void digest_largeFile(@TempDir Path directory) throws Exception {
+        byte[] data = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(data);
+        Path file = directory.resolve("large.bin");
+        Files.write(file, data);
+
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(data);
+        Assertions.assertThat(DigestSupport.digest("SHA-256", file).getBytes()).isEqualTo(expected);
+    }
+
+    @Test
+    void digest_unknownAlgorithm() {
+        Assertions.assertThatThrownBy(() -> new DefaultByteSource("abc").digest("SHA-999"))
+                .isInstanceOf(CodecException.class);
+    }
+
+    @Test
+    void hmac_byteSource() {
+        ByteSource hmac = new DefaultByteSource(HMAC_DATA).hmac("HmacSHA256", JEFE);
+        Assertions.assertThat(hmac.toHex()).isEqualTo(HMAC_RFC4231_2);
+    }
+
+    @Test
+    void hmac_otherKey() {
+        ByteSource source = new DefaultByteSource(HMAC_DATA);
+        String otherKeyHmac = source.hmac("HmacSHA256", "other".getBytes(StandardCharsets.UTF_8)).toHex();
+
+        Assertions.assertThat(otherKeyHmac).isNotEqualTo(HMAC_RFC4231_2);
+        Assertions.assertThat(source.hmac("HmacSHA256", JEFE).toHex()).isEqualTo(HMAC_RFC4231_2);
+    }
+
+    @Test
+    void hmac_stream() {
+        ByteArrayInputStream stream = new ByteArrayInputStream(HMAC_DATA.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThat(DigestSupport.hmac("HmacSHA256", JEFE, stream).toHex()).isEqualTo(HMAC_RFC4231_2);
+    }
+
+    @Test
+    void hmac_file(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("data.txt");
+        Files.write(file, HMAC_DATA.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThat(DigestSupport.hmac("HmacSHA256", JEFE, file).toHex()).isEqualTo(HMAC_RFC4231_2);
+    }
+
+    @Test
+    void hmac_emptyKey() {
+        Assertions.assertThatThrownBy(() -> new DefaultByteSource(HMAC_DATA).hmac("HmacSHA256", new byte[0]))
+                .isInstanceOf(CodecException.class);
+    }
+
+    @Test
+    void hmac_unknownAlgorithm() {
+        Assertions.assertThatThrownBy(() -> new DefaultByteSource(HMAC_DATA).hmac("HmacSHA999", JEFE))
+                .isInstanceOf(CodecException.class);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.codec;
+
+import be.atbash.util.exception.AtbashIllegalActionException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SecureByteSourceTest {
+
+    private static final byte[] DATA = {65, 116, 98, 97, 115, 104};
+
+    @Test
+    void getBytes() {
+        SecureByteSource source = new SecureByteSource(DATA.clone());
+
+        Assertions.assertThat(source.getBytes()).isEqualTo(DATA);
+        Assertions.assertThat(source.length()).isEqualTo(6);
+        Assertions.assertThat(source.isEmpty()).isFalse();
+    }
+
+    @Test
+    void getBytes_isCopy() {
+        SecureByteSource source = new SecureByteSource(DATA.clone());
+
+        CodecSupport.clear(source.getBytes());
+        Assertions.assertThat(source.getBytes()).isEqualTo(DATA);
+    }
+
+    @Test
+    void chars() {
+        SecureByteSource source = new SecureByteSource("Atbash".toCharArray());
+
+        Assertions.assertThat(source.getBytes()).isEqualTo(DATA);
+    }
+
+    @Test
+    void encodings() {
+        SecureByteSource source = new SecureByteSource(DATA.clone());
+        DefaultByteSource expected = new DefaultByteSource(DATA.clone());
+
+        Assertions.assertThat(source.toHex()).isEqualTo(expected.toHex());
+        Assertions.assertThat(source.toBase64()).isEqualTo(expected.toBase64());
+        Assertions.assertThat(source.toBase32()).isEqualTo(expected.toBase32());
+        Assertions.assertThat(source.toString()).doesNotContain(expected.toBase64());
+    }
+
+    @Test
+    void equalsAndHashCode() {
+        SecureByteSource source = new SecureByteSource(DATA.clone());
+        DefaultByteSource other = new DefaultByteSource(DATA.clone());
+
+        Assertions.assertThat(source).isEqualTo(new SecureByteSource(DATA.clone()));
+        Assertions.assertThat(source).isEqualTo(other);
+        Assertions.assertThat(other).isEqualTo(source);
+        Assertions.assertThat(source.hashCode()).isEqualTo(other.hashCode());
+        Assertions.assertThat(source).isNotEqualTo(new SecureByteSource(new byte[]{65, 116, 98, 97, 115, 105}));
+        Assertions.assertThat(source).isNotEqualTo(new SecureByteSource(new byte[]{65}));
+    }
+
+    @Test
+    void destroy() {
+        SecureByteSource source = new SecureByteSource(DATA.clone(), true);
+        source.toHex();
+
+        try (SecureByteSource closeable = source) {
+            Assertions.assertThat(closeable.isDestroyed()).isFalse();
+        }
+
+        Assertions.assertThat(source.isDestroyed()).isTrue();
+        Assertions.assertThatThrownBy(source::getBytes).isInstanceOf(AtbashIllegalActionException.class);
+        Assertions.assertThatThrownBy(source::toHex).isInstanceOf(AtbashIllegalActionException.class);
+    }
+}
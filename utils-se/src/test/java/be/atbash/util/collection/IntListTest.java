@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.collection;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IntListTest {
+
+    @Test
+    void add() {
+        IntList list = new IntList(0);
+        for (int i = 0; i < 100; i++) {
+            list.add(i * 2);
+        }
+        Assertions.assertThat(list.size()).isEqualTo(100);
+        Assertions.assertThat(list.get(50)).isEqualTo(100);
+        Assertions.assertThat(list.toArray()).hasSize(100).startsWith(0, 2, 4);
+        Assertions.assertThat(list.stream().sum()).isEqualTo(9900);
+    }
+
+    @Test
+    void indexOf() {
+        IntList list = new IntList();
+        list.add(5);
+        list.add(7);
+        list.add(5);
+        Assertions.assertThat(list.indexOf(5)).isEqualTo(0);
+        Assertions.assertThat(list.indexOf(7)).isEqualTo(1);
+        Assertions.assertThat(list.indexOf(3)).isEqualTo(-1);
+        Assertions.assertThat(list.contains(7)).isTrue();
+    }
+
+    @Test
+    void set() {
+        IntList list = new IntList();
+        list.add(1);
+        Assertions.assertThat(list.set(0, 2)).isEqualTo(1);
+        Assertions.assertThat(list.get(0)).isEqualTo(2);
+    }
+
+    @Test
+    void get_outOfBounds() {
+        IntList list = new IntList();
+        list.add(1);
+        Assertions.assertThatThrownBy(() -> list.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+        Assertions.assertThatThrownBy(() -> list.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void clear() {
+        IntList list = new IntList();
+        list.add(1);
+        list.clear();
+        Assertions.assertThat(list.isEmpty()).isTrue();
+        Assertions.assertThat(list.toArray()).isEmpty();
+    }
+
+    @Test
+    void equalsAndHashCode() {
+        IntList list1 = new IntList();
+        IntList list2 = new IntList(50);
+        list1.add(1);
+        list1.add(2);
+        list2.add(1);
+        list2.add(2);
+        Assertions.assertThat(list1).isEqualTo(list2);
+        Assertions.assertThat(list1.hashCode()).isEqualTo(list2.hashCode());
+        Assertions.assertThat(list1.toString()).isEqualTo("[1, 2]");
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.ordered;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class OrderComparatorTest {
+
+    @Test
+    void compare() {
+        OrderComparator comparator = new OrderComparator();
+
+        Assertions.assertThat(comparator.compare(new First(), new Second())).isNegative();
+        Assertions.assertThat(comparator.compare(new Second(), new First())).isPositive();
+        Assertions.assertThat(comparator.compare(new Second(), new AlsoSecond())).isZero();
+    }
+
+    @Test
+    void compare_missingOrder() {
+        Assertions.assertThatThrownBy(() -> new OrderComparator().compare(new First(), "Atbash"))
+                .isInstanceOf(MissingOrderException.class);
+    }
+
+    @Test
+    void sort() {
+        Object first = new First();
+        Object second = new Second();
+        Object alsoSecond = new AlsoSecond();
+        Object last = new Last();
+        List<Object> items = new ArrayList<>(Arrays.asList(last, second, first, alsoSecond));
+
+        OrderComparator.sort(items);
+
+        // Stable, second stays before alsoSecond.
+        Assertions.assertThat(items).containsExactly(first, second, alsoSecond, last);
+    }
+
+    @Test
+    void sort_missingOrder() {
+        List<Object> items = new ArrayList<>(Arrays.asList(new First(), "Atbash"));
+        Assertions.assertThatThrownBy(() -> OrderComparator.sort(items))
+                .isInstanceOf(MissingOrderException.class);
+    }
+
+    @Order(-5)
+    private static class First {
+    }
+
+    @Order(10)
+    private static class Second {
+    }
+
+    @Order(10)
+    private static class AlsoSecond {
+    }
+
+    @Order(Long.MAX_VALUE)
+    private static class Last {
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import be.atbash.util.reflection.testclasses.FieldAccess;
+import be.atbash.util.reflection.testclasses.PrimitiveAccess;
+import be.atbash.util.reflection.testclasses.PrimitiveTarget;
+import be.atbash.util.reflection.testclasses.PropertyAccess;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+class BeanCopierTest {
+
+    @Test
+    void copy_sameTypes() {
+        PropertyAccess source = new PropertyAccess("ReadOnlyValue");
+        source.setValue("JUnit");
+        source.setNumber(123L);
+        source.setFlag(true);
+        Date now = new Date();
+        source.setTimeStamp(now);
+
+        FieldAccess target = new FieldAccess();
+        BeanCopier<PropertyAccess, FieldAccess> copier = BeanCopier.create(PropertyAccess.class, FieldAccess.class);
+        copier.copy(source, target);
+
+        Assertions.assertThat(copier.getPropertyNames()).containsExactly("flag", "number", "timeStamp", "value");
+        Assertions.assertThat(target.value).isEqualTo("JUnit");
+        Assertions.assertThat(target.number).isEqualTo(123L);
+        Assertions.assertThat(target.flag).isTrue();
+        Assertions.assertThat(target.timeStamp).isEqualTo(now);
+    }
+
+    @Test
+    void copy_readonlyTarget() {
+        FieldAccess source = new FieldAccess();
+        source.value = "JUnit";
+
+        PropertyAccess target = new PropertyAccess("ReadOnlyValue");
+        BeanCopier.create(FieldAccess.class, PropertyAccess.class).copy(source, target);
+
+        Assertions.assertThat(target.getValue()).isEqualTo("JUnit");
+        Assertions.assertThat(target.getReadonly()).isEqualTo("ReadOnlyValue");
+    }
+
+    @Test
+    void copy_convertedTypes() {
+        PrimitiveAccess source = new PrimitiveAccess();
+        source.setIntValue(42);
+        source.setLongValue(123L);
+        source.setDoubleValue(1.5D);
+        source.setFloatValue(2.5F);
+        source.setShortValue((short) 7);
+        source.setBooleanValue(true);
+
+        PrimitiveTarget target = new PrimitiveTarget();
+        BeanCopier.create(PrimitiveAccess.class, PrimitiveTarget.class).copy(source, target);
+
+        Assertions.assertThat(target.getIntValue()).isEqualTo(42L);
+        Assertions.assertThat(target.getLongValue()).isEqualTo(123);
+        Assertions.assertThat(target.getDoubleValue()).isEqualTo(BigDecimal.valueOf(1.5D));
+        Assertions.assertThat(target.getFloatValue()).isEqualTo(2.5F);
+        Assertions.assertThat(target.getShortValue()).isEqualTo(7);
+        Assertions.assertThat(target.isBooleanValue()).isTrue();
+    }
+
+    @Test
+    void copy_nullToPrimitive() {
+        PropertyAccess source = new PropertyAccess("ReadOnlyValue");
+
+        PrimitiveTarget target = new PrimitiveTarget();
+        BeanCopier<PropertyAccess, PrimitiveTarget> copier = BeanCopier.create(PropertyAccess.class, PrimitiveTarget.class);
+        copier.copy(source, target);
+        Assertions.assertThat(target.getNumber()).isEqualTo(-1L);
+
+        source.setNumber(5L);
+        copier.copy(source, target);
+        Assertions.assertThat(target.getNumber()).isEqualTo(5L);
+    }
+
+    @Test
+    void create_cached() {
+        Assertions.assertThat(BeanCopier.create(PropertyAccess.class, FieldAccess.class))
+                .isSameAs(BeanCopier.create(PropertyAccess.class, FieldAccess.class));
+        Assertions.assertThat(BeanCopier.create(FieldAccess.class, PropertyAccess.class))
+                .isNotSameAs(BeanCopier.create(PropertyAccess.class, FieldAccess.class));
+    }
+
+    @Test
+    void copy_noCommonProperties() {
+        PrimitiveTarget target = new PrimitiveTarget();
+        BeanCopier<Object, PrimitiveTarget> copier = BeanCopier.create(Object.class, PrimitiveTarget.class);
+        copier.copy(new Object(), target);
+
+        Assertions.assertThat(copier.getPropertyNames()).isEmpty();
+        Assertions.assertThat(target.getNumber()).isEqualTo(-1L);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import be.atbash.util.reflection.testclasses.FieldAccess;
+import be.atbash.util.reflection.testclasses.PropertyAccess;
+import be.atbash.util.reflection.testclasses.UnconventionalAccess;
+import be.atbash.util.testclasses.Pojo;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BeanIntrospectorTest {
+
+    @Test
+    void getModel_properties() {
+        BeanModel model = BeanIntrospector.getModel(PropertyAccess.class);
+
+        Assertions.assertThat(model.getBeanClass()).isEqualTo(PropertyAccess.class);
+        Assertions.assertThat(model.getPropertyNames()).containsExactly("flag", "number", "readonly", "timeStamp", "value");
+        Assertions.assertThat(model.size()).isEqualTo(5);
+        Assertions.assertThat(model.getAccessor("readonly").supportSet()).isFalse();
+        Assertions.assertThat(model.getAccessor("value").supportSet()).isTrue();
+    }
+
+    @Test
+    void getModel_publicFields() {
+        BeanModel model = BeanIntrospector.getModel(FieldAccess.class);
+
+        Assertions.assertThat(model.getPropertyNames()).containsExactly("flag", "number", "timeStamp", "value");
+
+        FieldAccess data = new FieldAccess();
+        model.getAccessor("value").set(data, "JUnit");
+        Assertions.assertThat(data.value).isEqualTo("JUnit");
+    }
+
+    @Test
+    void getModel_unconventionalAccessors() {
+        BeanModel model = BeanIntrospector.getModel(UnconventionalAccess.class);
+
+        Assertions.assertThat(model.getPropertyNames()).containsExactly("bar");
+    }
+
+    @Test
+    void getModel_cached() {
+        BeanModel model = BeanIntrospector.getModel(Pojo.class);
+
+        Assertions.assertThat(BeanIntrospector.getModel(Pojo.class)).isSameAs(model);
+        Assertions.assertThat(model.getAccessor("name")).isSameAs(FastPropertyMemberAccessor.of(Pojo.class, "name"));
+    }
+
+    @Test
+    void indexOf() {
+        BeanModel model = BeanIntrospector.getModel(PropertyAccess.class);
+
+        for (int i = 0; i < model.size(); i++) {
+            String name = model.getAccessor(i).getName();
+            Assertions.assertThat(model.indexOf(name)).isEqualTo(i);
+        }
+        Assertions.assertThat(model.indexOf("class")).isEqualTo(-1);
+        Assertions.assertThat(model.indexOf("foo")).isEqualTo(-1);
+        Assertions.assertThat(model.indexOf(null)).isEqualTo(-1);
+        Assertions.assertThat(model.getAccessor("foo")).isNull();
+    }
+
+    @Test
+    void getModel_noProperties() {
+        BeanModel model = BeanIntrospector.getModel(Object.class);
+
+        Assertions.assertThat(model.size()).isZero();
+        Assertions.assertThat(model.indexOf("class")).isEqualTo(-1);
+    }
+
+    @Test
+    void getAccessors_copy() {
+        BeanModel model = BeanIntrospector.getModel(Pojo.class);
+
+        FastPropertyMemberAccessor[] accessors = model.getAccessors();
+        accessors[0] = null;
+        Assertions.assertThat(model.getAccessor(0)).isNotNull();
+    }
+}
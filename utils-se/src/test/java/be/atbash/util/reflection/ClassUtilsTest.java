@@ -19,9 +19,13 @@ import be.atbash.util.reflection.testclasses.Foo;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class ClassUtilsTest {
 
@@ -101,6 +105,54 @@ class ClassUtilsTest {
         Assertions.assertThat(foo.longValue).isNull();
     }
 
+    @Test
+    void getInstantiator() {
+        Instantiator<Foo> instantiator = ClassUtils.getInstantiator(Foo.class, Number.class, String.class);
+
+        Foo foo = instantiator.newInstance(15, "Atbash");
+        Assertions.assertThat(foo.value).isEqualTo("Atbash");
+        Assertions.assertThat(foo.number).isEqualTo(15);
+
+        Assertions.assertThat(ClassUtils.getInstantiator(Foo.class, Number.class, String.class)).isSameAs(instantiator);
+        Assertions.assertThat(instantiator.newInstance(16, null)).isNotSameAs(foo);
+    }
+
+    @Test
+    void getInstantiator_noMatch() {
+        Assertions.assertThatThrownBy(() ->
+                ClassUtils.getInstantiator(Foo.class, Calendar.class)
+        ).isInstanceOf(NoConstructorFoundException.class);
+    }
+
+    @Test
+    void getInstantiator_wrongArguments() {
+        Instantiator<Foo> instantiator = ClassUtils.getInstantiator(Foo.class, String.class);
+
+        Assertions.assertThatThrownBy(() -> instantiator.newInstance(15L))
+                .isInstanceOf(InstantiationException.class);
+    }
+
+    @Test
+    void newInstance_noAccessibleConstructor() {
+        Assertions.assertThatThrownBy(() -> ClassUtils.newInstance(Collections.class))
+                .isInstanceOf(InstantiationException.class)
+                .hasMessage("Unable to instantiate class [java.util.Collections]");
+    }
+
+    @Test
+    void newInstance_constructorFails() {
+        Assertions.assertThatThrownBy(() -> ClassUtils.newInstance(FailingConstructor.class))
+                .isInstanceOf(InstantiationException.class)
+                .hasCauseInstanceOf(InvocationTargetException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void newInstance_initializerFails() {
+        Assertions.assertThatThrownBy(() -> ClassUtils.newInstance(FailingInitializer.class))
+                .isInstanceOf(ExceptionInInitializerError.class);
+    }
+
     @Test
     void newInstanceName_noArg() {
         Foo foo = ClassUtils.newInstance(Foo.class.getName());
@@ -170,6 +222,49 @@ class ClassUtilsTest {
 
     }
 
+    @Test
+    void isAvailable_cached() {
+        Assertions.assertThat(ClassUtils.isAvailable("some.package.Atbash")).isFalse();
+        Assertions.assertThat(ClassUtils.isAvailable("some.package.Atbash")).isFalse();
+        Assertions.assertThat(ClassUtils.isAvailable(Foo.class.getName())).isTrue();
+        Assertions.assertThat(ClassUtils.forName(Foo.class.getName())).isSameAs(Foo.class);
+    }
+
+    @Test
+    void isAvailable_redeployed() {
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        AtomicInteger lookups = new AtomicInteger();
+        try {
+            thread.setContextClassLoader(new DeploymentClassLoader(false, lookups));
+            Assertions.assertThat(ClassUtils.isAvailable("some.package.Late")).isFalse();
+            Assertions.assertThat(ClassUtils.isAvailable("some.package.Late")).isFalse();
+            Assertions.assertThat(lookups.get()).isEqualTo(1);
+
+            // A redeployment comes with a new class loader, which doesn't see the earlier miss.
+            thread.setContextClassLoader(new DeploymentClassLoader(true, lookups));
+            Assertions.assertThat(ClassUtils.isAvailable("some.package.Late")).isTrue();
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    @Test
+    void forName_otherContextClassLoader() {
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try {
+            thread.setContextClassLoader(new URLClassLoader(new URL[0], null));
+            Assertions.assertThat(ClassUtils.forName(Foo.class.getName())).isSameAs(Foo.class);
+            Assertions.assertThat(ClassUtils.isAvailable("some.package.Atbash")).isFalse();
+
+            thread.setContextClassLoader(null);
+            Assertions.assertThat(ClassUtils.forName(Foo.class.getName())).isSameAs(Foo.class);
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
     @Test
     void getAllResources() {
         List<URL> resources = ClassUtils.getAllResources("walker/file1");
@@ -184,4 +279,40 @@ class ClassUtilsTest {
         Assertions.assertThat(resources).isEmpty();
 
     }
+
+    public static class FailingConstructor {
+
+        public FailingConstructor() {
+            throw new IllegalStateException("Constructor fails");
+        }
+    }
+
+    public static class FailingInitializer {
+
+        // Fails when the class is initialized.
+        private static final int VALUE = Integer.parseInt("not a number");
+    }
+
+    private static class DeploymentClassLoader extends ClassLoader {
+
+        private final boolean deployed;
+        private final AtomicInteger lookups;
+
+        DeploymentClassLoader(boolean deployed, AtomicInteger lookups) {
+            super(null);
+            this.deployed = deployed;
+            this.lookups = lookups;
+        }
+
+        @Override
+        public Class<?> loadClass(String name) throws ClassNotFoundException {
+            if ("some.package.Late".equals(name)) {
+                lookups.incrementAndGet();
+                if (deployed) {
+                    return Foo.class;
+                }
+            }
+            throw new ClassNotFoundException(name);
+        }
+    }
 }
@@ -18,6 +18,9 @@ package be.atbash.util.reflection;
 import be.atbash.util.exception.FieldNotFoundException;
 import be.atbash.util.exception.SetFieldValueException;
 import be.atbash.util.reflection.testclasses.FieldAccess;
+import be.atbash.util.reflection.testclasses.PrimitiveAccess;
+import be.atbash.util.reflection.testclasses.PrimitiveFieldAccess;
+import be.atbash.util.reflection.testclasses.PrivateFieldAccess;
 import be.atbash.util.reflection.testclasses.PropertyAccess;
 import be.atbash.util.testclasses.Pojo;
 import org.assertj.core.api.Assertions;
@@ -308,5 +311,213 @@ class FastPropertyMemberAccessorTest {
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    void of_cached() {
+        FastPropertyMemberAccessor memberAccessor = FastPropertyMemberAccessor.of(PropertyAccess.class, "value");
+
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PropertyAccess.class, "value")).isSameAs(memberAccessor);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PropertyAccess.class, "number")).isNotSameAs(memberAccessor);
+
+        PropertyAccess data = new PropertyAccess("ReadOnlyValue");
+        memberAccessor.set(data, "JUnit");
+        Assertions.assertThat(data.getValue()).isEqualTo("JUnit");
+    }
+
+    @Test
+    void of_unknown() {
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertThatThrownBy(() ->
+                            FastPropertyMemberAccessor.of(PropertyAccess.class, "foo"))
+                    .isInstanceOf(FieldNotFoundException.class)
+                    .hasMessage("Property 'foo' not found in class class be.atbash.util.reflection.testclasses.PropertyAccess");
+        }
+    }
+
+    @Test
+    void primitives() {
+        PrimitiveAccess data = new PrimitiveAccess();
+
+        FastPropertyMemberAccessor.of(PrimitiveAccess.class, "intValue").setInt(data, 42);
+        FastPropertyMemberAccessor.of(PrimitiveAccess.class, "longValue").setLong(data, 123456789012L);
+        FastPropertyMemberAccessor.of(PrimitiveAccess.class, "doubleValue").setDouble(data, 1.5D);
+        FastPropertyMemberAccessor.of(PrimitiveAccess.class, "floatValue").setFloat(data, 2.5F);
+        FastPropertyMemberAccessor.of(PrimitiveAccess.class, "shortValue").setShort(data, (short) 7);
+        FastPropertyMemberAccessor.of(PrimitiveAccess.class, "byteValue").setByte(data, (byte) 8);
+        FastPropertyMemberAccessor.of(PrimitiveAccess.class, "charValue").setChar(data, 'x');
+        FastPropertyMemberAccessor.of(PrimitiveAccess.class, "booleanValue").setBoolean(data, true);
+
+        Assertions.assertThat(data.getIntValue()).isEqualTo(42);
+        Assertions.assertThat(data.getLongValue()).isEqualTo(123456789012L);
+        Assertions.assertThat(data.getDoubleValue()).isEqualTo(1.5D);
+        Assertions.assertThat(data.getFloatValue()).isEqualTo(2.5F);
+        Assertions.assertThat(data.getShortValue()).isEqualTo((short) 7);
+        Assertions.assertThat(data.getByteValue()).isEqualTo((byte) 8);
+        Assertions.assertThat(data.getCharValue()).isEqualTo('x');
+        Assertions.assertThat(data.isBooleanValue()).isTrue();
+
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveAccess.class, "intValue").getInt(data)).isEqualTo(42);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveAccess.class, "longValue").getLong(data)).isEqualTo(123456789012L);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveAccess.class, "doubleValue").getDouble(data)).isEqualTo(1.5D);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveAccess.class, "floatValue").getFloat(data)).isEqualTo(2.5F);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveAccess.class, "shortValue").getShort(data)).isEqualTo((short) 7);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveAccess.class, "byteValue").getByte(data)).isEqualTo((byte) 8);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveAccess.class, "charValue").getChar(data)).isEqualTo('x');
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveAccess.class, "booleanValue").getBoolean(data)).isTrue();
+    }
+
+    @Test
+    void primitives_boxedAccess() {
+        PrimitiveAccess data = new PrimitiveAccess();
+
+        FastPropertyMemberAccessor.of(PrimitiveAccess.class, "doubleValue").set(data, 3.25D);
+        FastPropertyMemberAccessor.of(PrimitiveAccess.class, "charValue").set(data, 'y');
+
+        Double doubleValue = FastPropertyMemberAccessor.of(PrimitiveAccess.class, "doubleValue").get(data);
+        Assertions.assertThat(doubleValue).isEqualTo(3.25D);
+        Character charValue = FastPropertyMemberAccessor.of(PrimitiveAccess.class, "charValue").get(data);
+        Assertions.assertThat(charValue).isEqualTo('y');
+    }
+
+    @Test
+    void primitives_otherType() {
+        PropertyAccess data = new PropertyAccess("ReadOnlyValue");
+
+        FastPropertyMemberAccessor memberAccessor = FastPropertyMemberAccessor.of(PropertyAccess.class, "number");
+        memberAccessor.setLong(data, 123L);
+        Assertions.assertThat(memberAccessor.getLong(data)).isEqualTo(123L);
+        Assertions.assertThat(memberAccessor.getInt(data)).isEqualTo(123);
+
+        FieldAccess fieldData = new FieldAccess();
+        FastPropertyMemberAccessor fieldAccessor = FastPropertyMemberAccessor.of(FieldAccess.class, "flag");
+        fieldAccessor.setBoolean(fieldData, true);
+        Assertions.assertThat(fieldAccessor.getBoolean(fieldData)).isTrue();
+    }
+
+    @Test
+    void privateField() {
+        PrivateFieldAccess data = new PrivateFieldAccess();
+
+        FastPropertyMemberAccessor memberAccessor = new FastPropertyMemberAccessor(PrivateFieldAccess.class, "value", true);
+        Assertions.assertThat(memberAccessor.supportSet()).isTrue();
+        memberAccessor.set(data, "JUnit");
+        Assertions.assertThat(data.readValue()).isEqualTo("JUnit");
+        String value = memberAccessor.get(data);
+        Assertions.assertThat(value).isEqualTo("JUnit");
+
+        FastPropertyMemberAccessor counterAccessor = new FastPropertyMemberAccessor(PrivateFieldAccess.class, "counter", true);
+        counterAccessor.setInt(data, 5);
+        Assertions.assertThat(data.readCounter()).isEqualTo(5);
+        Assertions.assertThat(counterAccessor.getInt(data)).isEqualTo(5);
+        Assertions.assertThatThrownBy(() -> counterAccessor.set(data, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void privateField_subclass() {
+        PrivateFieldAccess data = new PrivateFieldAccess() {
+        };
+
+        FastPropertyMemberAccessor memberAccessor = new FastPropertyMemberAccessor(data.getClass(), "value", true);
+        memberAccessor.set(data, "JUnit");
+        Assertions.assertThat(data.readValue()).isEqualTo("JUnit");
+    }
+
+    @Test
+    void privateField_final() {
+        PrivateFieldAccess data = new PrivateFieldAccess();
+
+        FastPropertyMemberAccessor memberAccessor = new FastPropertyMemberAccessor(PrivateFieldAccess.class, "fixed", true);
+        Assertions.assertThat(memberAccessor.supportSet()).isFalse();
+        String value = memberAccessor.get(data);
+        Assertions.assertThat(value).isEqualTo("fixed");
+        Assertions.assertThatThrownBy(() -> memberAccessor.set(data, "changed"))
+                .isInstanceOf(SetFieldValueException.class);
+    }
+
+    @Test
+    void privateField_notAllowed() {
+        Assertions.assertThatThrownBy(() ->
+                        new FastPropertyMemberAccessor(PrivateFieldAccess.class, "value"))
+                .isInstanceOf(FieldNotFoundException.class)
+                .hasMessage("Property 'value' not found in class class be.atbash.util.reflection.testclasses.PrivateFieldAccess");
+    }
+
+    @Test
+    void set_converted() {
+        PropertyAccess data = new PropertyAccess("ReadOnlyValue");
+
+        FastPropertyMemberAccessor memberAccessor = FastPropertyMemberAccessor.of(PropertyAccess.class, "number");
+        memberAccessor.set(data, 123);
+        Assertions.assertThat(data.getNumber()).isEqualTo(123L);
+        memberAccessor.set(data, "321");
+        Assertions.assertThat(data.getNumber()).isEqualTo(321L);
+
+        PrimitiveAccess primitiveData = new PrimitiveAccess();
+        FastPropertyMemberAccessor intAccessor = FastPropertyMemberAccessor.of(PrimitiveAccess.class, "intValue");
+        intAccessor.setLong(primitiveData, 42L);
+        Assertions.assertThat(primitiveData.getIntValue()).isEqualTo(42);
+    }
+
+    @Test
+    void primitiveAccess_publicField() {
+        PrimitiveFieldAccess data = new PrimitiveFieldAccess();
+
+        FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "intValue").setInt(data, 1);
+        FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "longValue").setLong(data, 2L);
+        FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "doubleValue").setDouble(data, 3.5D);
+        FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "floatValue").setFloat(data, 4.5F);
+        FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "shortValue").setShort(data, (short) 5);
+        FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "byteValue").setByte(data, (byte) 6);
+        FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "charValue").setChar(data, 'x');
+        FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "booleanValue").setBoolean(data, true);
+
+        Assertions.assertThat(data.intValue).isEqualTo(1);
+        Assertions.assertThat(data.longValue).isEqualTo(2L);
+        Assertions.assertThat(data.doubleValue).isEqualTo(3.5D);
+        Assertions.assertThat(data.floatValue).isEqualTo(4.5F);
+        Assertions.assertThat(data.shortValue).isEqualTo((short) 5);
+        Assertions.assertThat(data.byteValue).isEqualTo((byte) 6);
+        Assertions.assertThat(data.charValue).isEqualTo('x');
+        Assertions.assertThat(data.booleanValue).isTrue();
+
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "intValue").getInt(data)).isEqualTo(1);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "longValue").getLong(data)).isEqualTo(2L);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "doubleValue").getDouble(data)).isEqualTo(3.5D);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "floatValue").getFloat(data)).isEqualTo(4.5F);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "shortValue").getShort(data)).isEqualTo((short) 5);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "byteValue").getByte(data)).isEqualTo((byte) 6);
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "charValue").getChar(data)).isEqualTo('x');
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "booleanValue").getBoolean(data)).isTrue();
+        // Other primitive type than the field, through get()
+        Assertions.assertThat(FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "intValue").getLong(data)).isEqualTo(1L);
+    }
+
+    @Test
+    void primitiveAccess_finalPublicField() {
+        PrimitiveFieldAccess data = new PrimitiveFieldAccess();
+        FastPropertyMemberAccessor memberAccessor = FastPropertyMemberAccessor.of(PrimitiveFieldAccess.class, "fixedValue");
+
+        Assertions.assertThat(memberAccessor.getInt(data)).isEqualTo(42);
+        Assertions.assertThatThrownBy(() -> memberAccessor.setInt(data, 1))
+                .isInstanceOf(SetFieldValueException.class);
+    }
+
+    @Test
+    void set_convertedNotExact() {
+        PrimitiveAccess data = new PrimitiveAccess();
+
+        FastPropertyMemberAccessor shortAccessor = FastPropertyMemberAccessor.of(PrimitiveAccess.class, "shortValue");
+        Assertions.assertThatThrownBy(() -> shortAccessor.set(data, 70000))
+                .isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> shortAccessor.set(data, 3.7D))
+                .isInstanceOf(NumberFormatException.class);
+
+        FastPropertyMemberAccessor intAccessor = FastPropertyMemberAccessor.of(PrimitiveAccess.class, "intValue");
+        Assertions.assertThatThrownBy(() -> intAccessor.set(data, 3.7D))
+                .isInstanceOf(ClassCastException.class);
+        Assertions.assertThat(data.getShortValue()).isEqualTo((short) 0);
+        Assertions.assertThat(data.getIntValue()).isEqualTo(0);
+    }
+
     //                      Add <T> to FastPropertyMemberAccessor
 }
\ No newline at end of file
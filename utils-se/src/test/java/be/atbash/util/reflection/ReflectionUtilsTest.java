@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import be.atbash.util.AnnotationUtil;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class ReflectionUtilsTest {
+
+    @Test
+    void findFields() {
+        List<Field> fields = ReflectionUtils.findFields(Child.class, f -> f.getName().endsWith("Public"));
+
+        Assertions.assertThat(names(fields)).containsExactlyInAnyOrder("childPublic", "parentPublic");
+    }
+
+    @Test
+    void findPublicFields() {
+        Assertions.assertThat(names(ReflectionUtils.findPublicFields(Child.class, Deprecated.class))).containsExactlyInAnyOrder("parentPublic");
+        Assertions.assertThat(names(AnnotationUtil.findAnnotatedFields(Child.class, Deprecated.class))).containsExactlyInAnyOrder("parentPublic");
+        Assertions.assertThat(ReflectionUtils.findPublicFields(Child.class, Override.class)).isEmpty();
+    }
+
+    @Test
+    void getAllFields() {
+        List<String> names = names(ReflectionUtils.getAllFields(Child.class));
+        Assertions.assertThat(names.subList(0, 2)).containsExactlyInAnyOrder("childPrivate", "childPublic");
+        Assertions.assertThat(names.subList(2, 4)).containsExactlyInAnyOrder("parentPrivate", "parentPublic");
+        Assertions.assertThat(names(ReflectionUtils.getAllFields(Child.class, Deprecated.class)))
+                .containsExactly("childPrivate", "parentPublic");
+    }
+
+    @Test
+    void getAllFields_copies() {
+        // Making a field accessible must not affect the other callers.
+        Field field = ReflectionUtils.getAllFields(Child.class, Deprecated.class).get(0);
+        field.setAccessible(true);
+
+        Field other = ReflectionUtils.getAllFields(Child.class, Deprecated.class).get(0);
+        Assertions.assertThat(other).isEqualTo(field).isNotSameAs(field);
+        Assertions.assertThat(other.isAccessible()).isFalse();
+        Assertions.assertThat(ReflectionUtils.getAllFields(Child.class).get(0)).isNotSameAs(ReflectionUtils.getAllFields(Child.class).get(0));
+    }
+
+    @Test
+    void getAllMethods_copies() {
+        Method method = ReflectionUtils.getAllMethods(Child.class, Deprecated.class).get(0);
+        method.setAccessible(true);
+
+        Method other = ReflectionUtils.getAllMethods(Child.class, Deprecated.class).get(0);
+        Assertions.assertThat(other).isEqualTo(method).isNotSameAs(method);
+        Assertions.assertThat(other.isAccessible()).isFalse();
+    }
+
+    @Test
+    void getAllMethods() {
+        Assertions.assertThat(names(ReflectionUtils.getAllMethods(Child.class, Deprecated.class)))
+                .containsExactly("childMethod", "parentMethod");
+        Assertions.assertThat(names(ReflectionUtils.getAllMethods(Child.class))).containsExactlyInAnyOrder("childMethod", "parentMethod");
+    }
+
+    private static List<String> names(List<? extends Member> members) {
+        return members.stream().map(Member::getName).collect(Collectors.toList());
+    }
+
+    public static class Parent {
+        @Deprecated
+        public String parentPublic;
+        private String parentPrivate;
+
+        @Deprecated
+        void parentMethod() {
+        }
+    }
+
+    public static class Child extends Parent {
+        @Deprecated
+        private String childPrivate;
+        public String childPublic;
+
+        @Deprecated
+        private void childMethod() {
+        }
+    }
+}
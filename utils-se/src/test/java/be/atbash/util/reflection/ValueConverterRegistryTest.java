@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+class ValueConverterRegistryTest {
+
+    @Test
+    void forType_numbers() {
+        Assertions.assertThat(ValueConverterRegistry.forType(Long.class).convert(123)).isEqualTo(123L);
+        Assertions.assertThat(ValueConverterRegistry.forType(long.class).convert(123)).isEqualTo(123L);
+        Assertions.assertThat(ValueConverterRegistry.forType(int.class).convert(123L)).isEqualTo(123);
+        Assertions.assertThat(ValueConverterRegistry.forType(short.class).convert("12")).isEqualTo((short) 12);
+        Assertions.assertThat(ValueConverterRegistry.forType(Byte.class).convert(12)).isEqualTo((byte) 12);
+        Assertions.assertThat(ValueConverterRegistry.forType(float.class).convert(1.5D)).isEqualTo(1.5F);
+        Assertions.assertThat(ValueConverterRegistry.forType(Double.class).convert("2.5")).isEqualTo(2.5D);
+        Assertions.assertThat(ValueConverterRegistry.forType(BigDecimal.class).convert(12L)).isEqualTo(BigDecimal.valueOf(12L));
+        Assertions.assertThat(ValueConverterRegistry.forType(BigDecimal.class).convert("1.25")).isEqualTo(new BigDecimal("1.25"));
+        Assertions.assertThat(ValueConverterRegistry.forType(BigInteger.class).convert(new BigDecimal("12.0"))).isEqualTo(BigInteger.valueOf(12));
+        Assertions.assertThat(ValueConverterRegistry.forType(int.class).convert(12.0D)).isEqualTo(12);
+    }
+
+    @Test
+    void forType_numberOverflow() {
+        Assertions.assertThatThrownBy(() -> ValueConverterRegistry.forType(Short.class).convert(70000))
+                .isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> ValueConverterRegistry.forType(byte.class).convert(128L))
+                .isInstanceOf(NumberFormatException.class);
+        // No exact conversion, so the value is kept and the property reports the wrong type.
+        Assertions.assertThat(ValueConverterRegistry.forType(int.class).convert(Long.MAX_VALUE)).isEqualTo(Long.MAX_VALUE);
+        Assertions.assertThat(ValueConverterRegistry.forType(long.class).convert(new BigInteger("99999999999999999999"))).isEqualTo(new BigInteger("99999999999999999999"));
+    }
+
+    @Test
+    void forType_numberFraction() {
+        Assertions.assertThatThrownBy(() -> ValueConverterRegistry.forType(short.class).convert(3.7D))
+                .isInstanceOf(NumberFormatException.class);
+        Assertions.assertThat(ValueConverterRegistry.forType(int.class).convert(3.7D)).isEqualTo(3.7D);
+        Assertions.assertThat(ValueConverterRegistry.forType(Long.class).convert(Double.NaN)).isEqualTo(Double.NaN);
+        Assertions.assertThat(ValueConverterRegistry.forType(BigInteger.class).convert(new BigDecimal("12.7"))).isEqualTo(new BigDecimal("12.7"));
+    }
+
+    @Test
+    void forType_invalidText() {
+        // Like the conversion through the String representation.
+        Assertions.assertThatThrownBy(() -> ValueConverterRegistry.forType(Short.class).convert("70000"))
+                .isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> ValueConverterRegistry.forType(byte.class).convert("JUnit"))
+                .isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> ValueConverterRegistry.forType(float.class).convert("JUnit"))
+                .isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void forType_notConvertible() {
+        Assertions.assertThat(ValueConverterRegistry.forType(Long.class).convert("JUnit")).isEqualTo("JUnit");
+        Assertions.assertThat(ValueConverterRegistry.forType(UUID.class).convert("JUnit")).isEqualTo("JUnit");
+        Assertions.assertThat(ValueConverterRegistry.forType(Boolean.class).convert("JUnit")).isEqualTo("JUnit");
+        Assertions.assertThat(ValueConverterRegistry.forType(TimeUnit.class).convert("JUnit")).isEqualTo("JUnit");
+    }
+
+    @Test
+    void forType_sameTypeOrNull() {
+        Long value = 123L;
+        Assertions.assertThat(ValueConverterRegistry.forType(Long.class).convert(value)).isSameAs(value);
+        Assertions.assertThat(ValueConverterRegistry.forType(Long.class).convert(null)).isNull();
+        Assertions.assertThat(ValueConverterRegistry.forType(String.class).convert(123)).isEqualTo(123);
+    }
+
+    @Test
+    void forType_others() {
+        UUID uuid = UUID.randomUUID();
+        Assertions.assertThat(ValueConverterRegistry.forType(UUID.class).convert(uuid.toString())).isEqualTo(uuid);
+        Assertions.assertThat(ValueConverterRegistry.forType(TimeUnit.class).convert("SECONDS")).isEqualTo(TimeUnit.SECONDS);
+        Assertions.assertThat(ValueConverterRegistry.forType(boolean.class).convert("TRUE")).isEqualTo(Boolean.TRUE);
+        Assertions.assertThat(ValueConverterRegistry.forType(char.class).convert("x")).isEqualTo('x');
+        Assertions.assertThat(ValueConverterRegistry.forType(LocalDate.class).convert("2022-03-04")).isEqualTo(LocalDate.of(2022, 3, 4));
+        Assertions.assertThat(ValueConverterRegistry.forType(Duration.class).convert("PT5S")).isEqualTo(Duration.ofSeconds(5));
+        Assertions.assertThat(ValueConverterRegistry.forType(Instant.class).convert(new Date(1000L))).isEqualTo(Instant.ofEpochMilli(1000L));
+        Assertions.assertThat(ValueConverterRegistry.forType(Date.class).convert(1000L)).isEqualTo(new Date(1000L));
+    }
+
+    @Test
+    void register() {
+        ValueConverterRegistry.register(StringBuilder.class, value -> new StringBuilder(value.toString()));
+
+        Object result = ValueConverterRegistry.forType(StringBuilder.class).convert("JUnit");
+        Assertions.assertThat(result).isInstanceOf(StringBuilder.class);
+        Assertions.assertThat(result.toString()).isEqualTo("JUnit");
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-2022 Rudy De Busscher (https://www.atbash.be)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package be.atbash.util.reflection.testclasses;
+
+import java.math.BigDecimal;
+
+public class PrimitiveTarget {
+
+    private long intValue;
+    private Integer longValue;
+    private BigDecimal doubleValue;
+    private Float floatValue;
+    private int shortValue;
+    private boolean booleanValue;
+    private long number = -1;
+
+    public long getIntValue() {
+        return intValue;
+    }
+
+    public void setIntValue(long intValue) {
+        this.intValue = intValue;
+    }
+
+    public Integer getLongValue() {
+        return longValue;
+    }
+
+    public void setLongValue(Integer longValue) {
+        this.longValue = longValue;
+    }
+
+    public BigDecimal getDoubleValue() {
+        return doubleValue;
+    }
+
+    public void setDoubleValue(BigDecimal doubleValue) {
+        this.doubleValue = doubleValue;
+    }
+
+    public Float getFloatValue() {
+        return floatValue;
+    }
+
+    public void setFloatValue(Float floatValue) {
+        this.floatValue = floatValue;
+    }
+
+    public int getShortValue() {
+        return shortValue;
+    }
+
+    public void setShortValue(int shortValue) {
+        this.shortValue = shortValue;
+    }
+
+    public boolean isBooleanValue() {
+        return booleanValue;
+    }
+
+    public void setBooleanValue(boolean booleanValue) {
+        this.booleanValue = booleanValue;
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    public void setNumber(long number) {
+        this.number = number;
+    }
+}